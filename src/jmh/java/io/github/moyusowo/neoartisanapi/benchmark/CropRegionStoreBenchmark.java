@@ -0,0 +1,130 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import io.github.moyusowo.neoartisanapi.api.block.crop.storage.CropChunk;
+import io.github.moyusowo.neoartisanapi.api.block.crop.storage.CropRegionStore;
+import org.bukkit.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * 作物区域文件存储的编码、解码、批量写入与单区块读取开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CropRegionStoreBenchmark {
+
+    private static final int CROP_TYPES = 64;
+
+    private static final int AREA_CHUNKS = 16;
+
+    private static final int MIN_SECTION_Y = -4;
+
+    private static final int SECTION_COUNT = 24;
+
+    private static final NamespacedKey[] CROP_KEYS = new NamespacedKey[CROP_TYPES];
+
+    private static final Map<NamespacedKey, Integer> CROP_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < CROP_TYPES; i++) {
+            CROP_KEYS[i] = NamespacedKey.fromString("benchmark:crop_" + i);
+            CROP_IDS.put(CROP_KEYS[i], i);
+        }
+    }
+
+    private static final IntFunction<NamespacedKey> KEY_OF = cropId -> cropId >= 0 && cropId < CROP_TYPES ? CROP_KEYS[cropId] : null;
+
+    private static final ToIntFunction<NamespacedKey> ID_OF = key -> CROP_IDS.getOrDefault(key, -1);
+
+    @Param({"64", "1024"})
+    public int cropsPerChunk;
+
+    private Path directory;
+
+    private CropRegionStore store;
+
+    private CropChunk[] chunks;
+
+    private byte[][] encoded;
+
+    private final Map<Long, byte[]> batch = new HashMap<>();
+
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        final SplittableRandom random = new SplittableRandom(7);
+        chunks = new CropChunk[AREA_CHUNKS * AREA_CHUNKS];
+        encoded = new byte[chunks.length][];
+        for (int i = 0; i < chunks.length; i++) {
+            final int chunkX = i % AREA_CHUNKS, chunkZ = i / AREA_CHUNKS;
+            final CropChunk chunk = new CropChunk(MIN_SECTION_Y, SECTION_COUNT);
+            int placed = 0;
+            while (placed < cropsPerChunk) {
+                final int x = (chunkX << 4) + random.nextInt(16), y = 60 + random.nextInt(20), z = (chunkZ << 4) + random.nextInt(16);
+                if (chunk.set(x, y, z, random.nextInt(CROP_TYPES), random.nextInt(8))) {
+                    placed++;
+                }
+            }
+            chunks[i] = chunk;
+            encoded[i] = CropRegionStore.encode(chunk, KEY_OF);
+            batch.put(CropChunk.key(chunkX, chunkZ), encoded[i]);
+        }
+        directory = Files.createTempDirectory("neoartisan-crop-bench");
+        store = new CropRegionStore(directory);
+        store.writeChunks(batch);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeChunk() {
+        return CropRegionStore.encode(chunks[cursor++ & (chunks.length - 1)], KEY_OF);
+    }
+
+    @Benchmark
+    public CropChunk decodeChunk() throws IOException {
+        return CropRegionStore.decode(ByteBuffer.wrap(encoded[cursor++ & (encoded.length - 1)]), MIN_SECTION_Y, SECTION_COUNT, ID_OF);
+    }
+
+    @Benchmark
+    public CropChunk readChunk() throws IOException {
+        final int i = cursor++ & (chunks.length - 1);
+        return store.readChunk(i % AREA_CHUNKS, i / AREA_CHUNKS, MIN_SECTION_Y, SECTION_COUNT, ID_OF);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void writeBatch() throws IOException {
+        store.writeChunks(batch);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import io.github.moyusowo.neoartisanapi.api.block.crop.growth.CropGrowthWheel;
+import io.github.moyusowo.neoartisanapi.api.block.crop.storage.CropChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作物存储的点查询、区域查询与生长时间轮开销，以装箱坐标哈希表作为对照。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CropStorageBenchmark {
+
+    private static final int AREA_CHUNKS = 32;
+
+    private static final int MIN_Y = 60;
+
+    private static final int MAX_Y = 79;
+
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "200000"})
+    public int cropCount;
+
+    private final Map<Long, CropChunk> chunks = new HashMap<>();
+
+    private final Map<Long, Integer> boxed = new HashMap<>();
+
+    private int[] queryX;
+
+    private int[] queryY;
+
+    private int[] queryZ;
+
+    private int cursor;
+
+    private CropGrowthWheel wheel;
+
+    private long tick;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(7);
+        final int span = AREA_CHUNKS * 16;
+        int placed = 0;
+        while (placed < cropCount) {
+            final int x = random.nextInt(span), y = MIN_Y + random.nextInt(MAX_Y - MIN_Y + 1), z = random.nextInt(span);
+            final CropChunk chunk = chunks.computeIfAbsent(CropChunk.key(x >> 4, z >> 4), k -> new CropChunk(-4, 24));
+            final int cropId = random.nextInt(64);
+            if (chunk.set(x, y, z, cropId, 0)) {
+                boxed.put(blockKey(x, y, z), cropId);
+                placed++;
+            }
+        }
+        queryX = new int[QUERIES];
+        queryY = new int[QUERIES];
+        queryZ = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = random.nextInt(span);
+            queryY[i] = MIN_Y + random.nextInt(MAX_Y - MIN_Y + 1);
+            queryZ[i] = random.nextInt(span);
+        }
+        wheel = new CropGrowthWheel(0L);
+        for (int i = 0; i < cropCount; i++) {
+            wheel.schedule(CropChunk.key(random.nextInt(AREA_CHUNKS), random.nextInt(AREA_CHUNKS)), i, 1 + random.nextInt(24000));
+        }
+    }
+
+    @Benchmark
+    public int pointLookupSectioned() {
+        final int i = cursor++ & (QUERIES - 1);
+        final CropChunk chunk = chunks.get(CropChunk.key(queryX[i] >> 4, queryZ[i] >> 4));
+        return chunk == null ? -1 : chunk.getCropId(queryX[i], queryY[i], queryZ[i]);
+    }
+
+    @Benchmark
+    public Integer pointLookupBoxedMap() {
+        final int i = cursor++ & (QUERIES - 1);
+        return boxed.get(blockKey(queryX[i], queryY[i], queryZ[i]));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void regionQuerySectioned(Blackhole blackhole) {
+        for (int chunkX = 0; chunkX < 4; chunkX++) {
+            for (int chunkZ = 0; chunkZ < 4; chunkZ++) {
+                final CropChunk chunk = chunks.get(CropChunk.key(chunkX, chunkZ));
+                if (chunk != null) {
+                    chunk.forEach(chunkX, chunkZ, 0, MIN_Y, 0, 63, MAX_Y, 63, (x, y, z, cropId, stage) -> blackhole.consume(cropId));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void regionQueryPerBlock(Blackhole blackhole) {
+        for (int x = 0; x < 64; x++) {
+            for (int z = 0; z < 64; z++) {
+                for (int y = MIN_Y; y <= MAX_Y; y++) {
+                    final Integer cropId = boxed.get(blockKey(x, y, z));
+                    if (cropId != null) blackhole.consume(cropId.intValue());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int growthWheelTick() {
+        final long now = ++tick;
+        return wheel.advance(now, 256, (chunkKey, position, dueTick) -> wheel.schedule(chunkKey, position, now + 24000));
+    }
+
+    private static long blockKey(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+}
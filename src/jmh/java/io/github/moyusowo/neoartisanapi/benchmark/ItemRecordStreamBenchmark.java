@@ -0,0 +1,105 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import io.github.moyusowo.neoartisanapi.api.item.stream.ItemRecord;
+import io.github.moyusowo.neoartisanapi.api.item.stream.ItemRecordReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 物品记录流的解码吞吐量，每次读取一条带有整数和字符串属性的记录流。
+ *
+ * <p>流按版本1的格式在准备阶段直接生成，不需要构造物品堆；物品注册表使用空操作替身。</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemRecordStreamBenchmark {
+
+    private static final int ITEM_TYPES = 512;
+
+    private static final byte RECORD = 1;
+
+    private static final byte END = 0;
+
+    private static final byte TYPE_INT = 3;
+
+    private static final byte TYPE_STRING = 7;
+
+    @Param({"10000", "1000000"})
+    public int recordCount;
+
+    private ItemRegistry registry;
+
+    private byte[] stream;
+
+    @Setup
+    public void setup() throws IOException {
+        registry = StubServer.stub(ItemRegistry.class);
+        final SplittableRandom random = new SplittableRandom(7);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x4E414953);
+        out.writeInt(1);
+        out.writeInt(ITEM_TYPES);
+        for (int i = 0; i < ITEM_TYPES; i++) {
+            writeString(out, "benchmark:item_" + i);
+        }
+        out.writeInt(2);
+        writeString(out, "benchmark:level");
+        out.writeByte(TYPE_INT);
+        writeString(out, "benchmark:owner");
+        out.writeByte(TYPE_STRING);
+        for (int i = 0; i < recordCount; i++) {
+            out.writeByte(RECORD);
+            writeVarInt(out, random.nextInt(ITEM_TYPES));
+            writeVarInt(out, 1 + random.nextInt(64));
+            writeVarInt(out, 2);
+            writeVarInt(out, 0);
+            out.writeInt(random.nextInt(100));
+            writeVarInt(out, 1);
+            writeString(out, "player_" + random.nextInt(1000));
+        }
+        out.writeByte(END);
+        stream = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public void readAll(Blackhole blackhole) throws IOException {
+        final ItemRecordReader reader = new ItemRecordReader(Channels.newChannel(new ByteArrayInputStream(stream)), registry);
+        ItemRecord record;
+        while ((record = reader.next()) != null) {
+            blackhole.consume(record);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
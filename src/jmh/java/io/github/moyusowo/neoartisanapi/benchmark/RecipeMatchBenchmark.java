@@ -0,0 +1,165 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import io.github.moyusowo.neoartisanapi.api.recipe.CraftingGridKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比基于 {@link CraftingGridKey} 的索引匹配与逐个配方线性扫描的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RecipeMatchBenchmark {
+
+    private static final int E = CraftingGridKey.EMPTY_SLOT;
+
+    private static final int GRIDS = 256;
+
+    @Param({"10", "100", "1000"})
+    public int recipeCount;
+
+    private final Map<CraftingGridKey, Integer> shapedIndex = new HashMap<>();
+
+    private final Map<CraftingGridKey, Integer> shapelessIndex = new HashMap<>();
+
+    private final List<CraftingGridKey> shapedRecipes = new ArrayList<>();
+
+    private final List<int[]> shapelessRecipes = new ArrayList<>();
+
+    private int[][] shapedGrids;
+
+    private int[][] shapelessGrids;
+
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final SplittableRandom random = new SplittableRandom(42);
+        while (shapedRecipes.size() < recipeCount) {
+            final int width = 1 + random.nextInt(3), height = 1 + random.nextInt(3);
+            final int[] grid = new int[9];
+            Arrays.fill(grid, E);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    grid[y * 3 + x] = random.nextInt(4) == 0 ? E : random.nextInt(200);
+                }
+            }
+            final CraftingGridKey key = CraftingGridKey.shaped(grid, 3);
+            if (key.isEmpty() || shapedIndex.containsKey(key)) continue;
+            shapedIndex.put(key, shapedRecipes.size());
+            shapedIndex.putIfAbsent(key.mirrored(), shapedRecipes.size());
+            shapedRecipes.add(key);
+        }
+        while (shapelessRecipes.size() < recipeCount) {
+            final int[] ingredients = new int[1 + random.nextInt(9)];
+            for (int i = 0; i < ingredients.length; i++) {
+                ingredients[i] = random.nextInt(200);
+            }
+            final CraftingGridKey key = CraftingGridKey.shapeless(ingredients);
+            if (shapelessIndex.putIfAbsent(key, shapelessRecipes.size()) != null) continue;
+            final int[] sorted = ingredients.clone();
+            Arrays.sort(sorted);
+            shapelessRecipes.add(sorted);
+        }
+        shapedGrids = new int[GRIDS][];
+        shapelessGrids = new int[GRIDS][];
+        for (int i = 0; i < GRIDS; i++) {
+            final CraftingGridKey recipe = shapedRecipes.get(random.nextInt(recipeCount));
+            final int offsetX = random.nextInt(4 - recipe.width()), offsetY = random.nextInt(4 - recipe.height());
+            final int[] grid = new int[9];
+            Arrays.fill(grid, E);
+            for (int y = 0; y < recipe.height(); y++) {
+                for (int x = 0; x < recipe.width(); x++) {
+                    grid[(offsetY + y) * 3 + offsetX + x] = recipe.get(y * recipe.width() + x);
+                }
+            }
+            shapedGrids[i] = grid;
+            final int[] ingredients = shapelessRecipes.get(random.nextInt(recipeCount));
+            final int[] shuffled = new int[9];
+            Arrays.fill(shuffled, E);
+            for (int ingredient : ingredients) {
+                int slot;
+                do {
+                    slot = random.nextInt(9);
+                } while (shuffled[slot] != E);
+                shuffled[slot] = ingredient;
+            }
+            shapelessGrids[i] = shuffled;
+        }
+    }
+
+    @Benchmark
+    public Integer shapedIndexed() {
+        return shapedIndex.get(CraftingGridKey.shaped(nextShaped(), 3));
+    }
+
+    @Benchmark
+    public int shapedLinearScan() {
+        final int[] grid = nextShaped();
+        for (int r = 0; r < shapedRecipes.size(); r++) {
+            final CraftingGridKey recipe = shapedRecipes.get(r);
+            for (int offsetY = 0; offsetY + recipe.height() <= 3; offsetY++) {
+                for (int offsetX = 0; offsetX + recipe.width() <= 3; offsetX++) {
+                    if (matchesAt(recipe, grid, offsetX, offsetY)) return r;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public Integer shapelessIndexed() {
+        return shapelessIndex.get(CraftingGridKey.shapeless(nextShapeless()));
+    }
+
+    @Benchmark
+    public int shapelessLinearScan() {
+        final int[] grid = nextShapeless();
+        int count = 0;
+        final int[] items = new int[9];
+        for (int id : grid) {
+            if (id != E) items[count++] = id;
+        }
+        Arrays.sort(items, 0, count);
+        for (int r = 0; r < shapelessRecipes.size(); r++) {
+            final int[] recipe = shapelessRecipes.get(r);
+            if (Arrays.equals(recipe, 0, recipe.length, items, 0, count)) return r;
+        }
+        return -1;
+    }
+
+    private int[] nextShaped() {
+        return shapedGrids[cursor++ & (GRIDS - 1)];
+    }
+
+    private int[] nextShapeless() {
+        return shapelessGrids[cursor++ & (GRIDS - 1)];
+    }
+
+    private static boolean matchesAt(CraftingGridKey recipe, int[] grid, int offsetX, int offsetY) {
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                final int rx = x - offsetX, ry = y - offsetY;
+                final boolean inside = rx >= 0 && ry >= 0 && rx < recipe.width() && ry < recipe.height();
+                final int expected = inside ? recipe.get(ry * recipe.width() + rx) : E;
+                if (grid[y * 3 + x] != expected) return false;
+            }
+        }
+        return true;
+    }
+}
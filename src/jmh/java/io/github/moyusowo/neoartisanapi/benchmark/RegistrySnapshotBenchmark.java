@@ -0,0 +1,82 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import io.github.moyusowo.neoartisanapi.api.registry.RegistrySnapshot;
+import org.bukkit.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 冻结后的注册表快照按键和按稠密下标查找的开销，以哈希表作为对照。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistrySnapshotBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"256", "16384"})
+    public int entryCount;
+
+    private final Map<NamespacedKey, Object> map = new HashMap<>();
+
+    private RegistrySnapshot<Object> snapshot;
+
+    private NamespacedKey[] queryKeys;
+
+    private int[] queryIndices;
+
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        final Map<NamespacedKey, Object> entries = new LinkedHashMap<>();
+        final NamespacedKey[] keys = new NamespacedKey[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = NamespacedKey.fromString("benchmark:item_" + i);
+            entries.put(keys[i], new Object());
+        }
+        map.putAll(entries);
+        snapshot = RegistrySnapshot.of(entries, 1L);
+        final SplittableRandom random = new SplittableRandom(7);
+        queryKeys = new NamespacedKey[QUERIES];
+        queryIndices = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryIndices[i] = random.nextInt(entryCount);
+            // 使用新建的键，与从物品堆中解析出的键一样不与注册时的实例相同
+            queryKeys[i] = NamespacedKey.fromString("benchmark:item_" + queryIndices[i]);
+        }
+    }
+
+    @Benchmark
+    public Object snapshotGetByKey() {
+        return snapshot.get(queryKeys[cursor++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public Object hashMapGet() {
+        return map.get(queryKeys[cursor++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public int snapshotIndexOf() {
+        return snapshot.indexOf(queryKeys[cursor++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public Object snapshotGetByIndex() {
+        return snapshot.get(queryIndices[cursor++ & (QUERIES - 1)]);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.ServicePriority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比直接调用 {@code ServicesManager#load} 与缓存句柄获取注册表的开销。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ServiceLookupBenchmark {
+
+    @Setup
+    public void setup() {
+        StubServer.install();
+        if (Bukkit.getServicesManager().load(ItemRegistry.class) == null) {
+            Bukkit.getServicesManager().register(ItemRegistry.class, StubServer.stub(ItemRegistry.class), StubServer.plugin(), ServicePriority.Normal);
+        }
+    }
+
+    @Benchmark
+    public ItemRegistry servicesManagerLoad() {
+        return Bukkit.getServicesManager().load(ItemRegistry.class);
+    }
+
+    @Benchmark
+    public ItemRegistry cachedHolder() {
+        return ItemRegistry.getItemRegistryManager();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ItemRegistry servicesManagerLoadContended() {
+        return Bukkit.getServicesManager().load(ItemRegistry.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ItemRegistry cachedHolderContended() {
+        return ItemRegistry.getItemRegistryManager();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.moyusowo.neoartisanapi.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.ServicesManager;
+import org.bukkit.plugin.SimpleServicesManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.logging.Logger;
+
+/**
+ * 基准测试使用的进程内服务器替身，只提供服务管理器与空操作的插件管理器。
+ */
+final class StubServer {
+
+    private static final Logger LOGGER = Logger.getLogger("NeoArtisanBenchmark");
+
+    private static ServicesManager servicesManager;
+
+    private static Plugin plugin;
+
+    private StubServer() {
+    }
+
+    static synchronized void install() {
+        if (servicesManager != null) {
+            return;
+        }
+        servicesManager = new SimpleServicesManager();
+        final PluginManager pluginManager = stub(PluginManager.class, null);
+        plugin = stub(Plugin.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> "NeoArtisanBenchmark";
+            case "isEnabled" -> true;
+            case "getLogger" -> LOGGER;
+            default -> defaultValue(method.getReturnType());
+        });
+        final Server server = stub(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getServicesManager" -> servicesManager;
+            case "getPluginManager" -> pluginManager;
+            case "getLogger" -> LOGGER;
+            case "isPrimaryThread" -> true;
+            default -> defaultValue(method.getReturnType());
+        });
+        try {
+            final Field field = Bukkit.class.getDeclaredField("server");
+            field.setAccessible(true);
+            field.set(null, server);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("unable to install stub server", e);
+        }
+    }
+
+    static Plugin plugin() {
+        return plugin;
+    }
+
+    /**
+     * 创建一个所有方法都返回默认值的接口实现。
+     */
+    static <T> T stub(Class<T> type) {
+        return stub(type, null);
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        final InvocationHandler actual = handler != null ? handler : (proxy, method, args) -> switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> type.getSimpleName() + "Stub";
+            default -> defaultValue(method.getReturnType());
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, actual));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        return 0D;
+    }
+}
@@ -1,13 +1,46 @@
 package io.github.moyusowo.neoartisanapi;
 
+import io.github.moyusowo.neoartisanapi.api.metrics.MetricsRegistry;
+import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
 public final class NeoArtisanAPI extends JavaPlugin {
 
     @Override
     public void onEnable() {
         // Plugin startup logic
-
+        getServer().getPluginManager().registerEvents(new ServiceCacheListener(), this);
+        saveDefaultConfig();
+        if (getConfig().getBoolean("registry.freeze-on-startup", false)) {
+            getServer().getPluginManager().registerEvents(new RegistryFreezeListener(this), this);
+        }
+        final SimpleMetricsRegistry metrics = new SimpleMetricsRegistry();
+        metrics.setSampleRate(Math.max(1, getConfig().getInt("metrics.sample-rate", 64)));
+        metrics.setEnabled(getConfig().getBoolean("metrics.enabled", false));
+        getServer().getServicesManager().register(MetricsRegistry.class, metrics, this, ServicePriority.Normal);
+        if (getConfig().getBoolean("migration.enabled", false)) {
+            final StaleItemMigrator migrator = new StaleItemMigrator(Math.max(1, getConfig().getInt("migration.max-per-tick", 32)));
+            getServer().getPluginManager().registerEvents(migrator, this);
+            getServer().getScheduler().runTaskTimer(this, migrator, 1L, 1L);
+        }
+        getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, event ->
+                event.registrar().register("neoartisan", "NeoArtisan 管理命令", new NeoArtisanCommand(metrics)));
+        if (getConfig().getBoolean("metrics.prometheus.enabled", false)) {
+            final Path file = getDataFolder().toPath().resolve(getConfig().getString("metrics.prometheus.file", "metrics.prom"));
+            final long period = Math.max(1L, getConfig().getLong("metrics.prometheus.interval-seconds", 15L)) * 20L;
+            getServer().getScheduler().runTaskTimerAsynchronously(this, () -> {
+                try {
+                    metrics.writePrometheusText(file);
+                } catch (IOException e) {
+                    getLogger().log(Level.WARNING, "Failed to write metrics to " + file, e);
+                }
+            }, period, period);
+        }
     }
 
     @Override
@@ -0,0 +1,82 @@
+package io.github.moyusowo.neoartisanapi;
+
+import io.github.moyusowo.neoartisanapi.api.metrics.HotPathMetric;
+import io.github.moyusowo.neoartisanapi.api.metrics.LatencyHistogram;
+import io.github.moyusowo.neoartisanapi.api.metrics.MetricsRegistry;
+import io.papermc.paper.command.brigadier.BasicCommand;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+final class NeoArtisanCommand implements BasicCommand {
+
+    private static final String PERMISSION = "neoartisan.metrics";
+
+    private final MetricsRegistry metrics;
+
+    NeoArtisanCommand(MetricsRegistry metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void execute(@NotNull CommandSourceStack source, String @NotNull [] args) {
+        final CommandSender sender = source.getSender();
+        if (args.length == 0 || !args[0].equalsIgnoreCase("metrics")) {
+            sender.sendMessage(Component.text("用法: /neoartisan metrics [reset|on|off]", NamedTextColor.RED));
+            return;
+        }
+        if (args.length >= 2) {
+            switch (args[1].toLowerCase()) {
+                case "reset" -> {
+                    metrics.reset();
+                    sender.sendMessage(Component.text("统计已清空", NamedTextColor.GREEN));
+                }
+                case "on", "off" -> {
+                    metrics.setEnabled(args[1].equalsIgnoreCase("on"));
+                    sender.sendMessage(Component.text("统计已" + (metrics.isEnabled() ? "开启" : "关闭"), NamedTextColor.GREEN));
+                }
+                default -> sender.sendMessage(Component.text("用法: /neoartisan metrics [reset|on|off]", NamedTextColor.RED));
+            }
+            return;
+        }
+        sender.sendMessage(Component.text("NeoArtisan 热点路径统计（" + (metrics.isEnabled() ? "开启" : "关闭")
+                + "，采样率 1/" + metrics.getSampleRate() + "）", NamedTextColor.GOLD));
+        final List<HotPathMetric> sorted = metrics.getMetrics().stream()
+                .sorted(Comparator.comparing(HotPathMetric::getName))
+                .toList();
+        for (HotPathMetric metric : sorted) {
+            final LatencyHistogram latency = metric.getLatency();
+            final long samples = latency.getCount();
+            final String line = samples == 0
+                    ? String.format("%s: %d 次", metric.getName(), metric.getCount())
+                    : String.format("%s: %d 次, 平均 %.1f µs, p50 < %.1f µs, p99 < %.1f µs",
+                    metric.getName(), metric.getCount(),
+                    latency.getTotalNanos() / 1e3 / samples,
+                    latency.getQuantileNanos(0.5) / 1e3,
+                    latency.getQuantileNanos(0.99) / 1e3);
+            sender.sendMessage(Component.text(line, NamedTextColor.GRAY));
+        }
+    }
+
+    @Override
+    public @NotNull Collection<String> suggest(@NotNull CommandSourceStack source, String @NotNull [] args) {
+        if (args.length <= 1) {
+            return List.of("metrics");
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("metrics")) {
+            return List.of("reset", "on", "off");
+        }
+        return List.of();
+    }
+
+    @Override
+    public boolean canUse(@NotNull CommandSender sender) {
+        return sender.hasPermission(PERMISSION);
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.moyusowo.neoartisanapi;
+
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeRegistry;
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeTypeRegistry;
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropRegistry;
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import io.github.moyusowo.neoartisanapi.api.registry.FreezableRegistry;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServerLoadEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+final class RegistryFreezeListener implements Listener {
+
+    private final Plugin plugin;
+
+    private final Logger logger;
+
+    RegistryFreezeListener(Plugin plugin) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerLoad(ServerLoadEvent event) {
+        if (event.getType() != ServerLoadEvent.LoadType.STARTUP) {
+            return;
+        }
+        // 推迟到第一个刻，排在插件在 onEnable 中调度的 runTask 之后，让它们仍能完成注册
+        plugin.getServer().getScheduler().runTask(plugin, this::freezeAll);
+    }
+
+    private void freezeAll() {
+        // 属性类型先于属性冻结，属性先于引用它们的物品和作物冻结
+        freeze("AttributeTypeRegistry", AttributeTypeRegistry::getAttributeTypeRegistryManager);
+        freeze("AttributeRegistry", AttributeRegistry::getAttributeRegistryManager);
+        freeze("ItemRegistry", ItemRegistry::getItemRegistryManager);
+        freeze("CropRegistry", CropRegistry::getCropRegistryManager);
+    }
+
+    private void freeze(String name, Supplier<? extends FreezableRegistry> registry) {
+        final FreezableRegistry instance = registry.get();
+        if (instance == null || instance.isFrozen()) {
+            return;
+        }
+        instance.freeze();
+        logger.info(name + " frozen at snapshot revision " + instance.getSnapshotRevision());
+    }
+}
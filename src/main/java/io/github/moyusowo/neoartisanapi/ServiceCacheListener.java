@@ -0,0 +1,21 @@
+package io.github.moyusowo.neoartisanapi;
+
+import io.github.moyusowo.neoartisanapi.api.service.ServiceHolder;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+
+final class ServiceCacheListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceRegister(ServiceRegisterEvent event) {
+        ServiceHolder.invalidate(event.getProvider().getService());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceUnregister(ServiceUnregisterEvent event) {
+        ServiceHolder.invalidate(event.getProvider().getService());
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.moyusowo.neoartisanapi;
+
+import io.github.moyusowo.neoartisanapi.api.metrics.HotPathMetric;
+import io.github.moyusowo.neoartisanapi.api.metrics.LatencyHistogram;
+import io.github.moyusowo.neoartisanapi.api.metrics.MetricsRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class SimpleMetricsRegistry implements MetricsRegistry {
+
+    private static final String PREFIX = "neoartisan_";
+
+    private static final int EXPORTED_BUCKETS = 40;
+
+    private final Map<String, HotPathMetric> metrics = new ConcurrentHashMap<>();
+
+    // 由 setEnabled/setSampleRate 在 this 上加锁写入，读取不加锁，因此必须是 volatile
+    private volatile boolean enabled;
+
+    private volatile int sampleRate = 64;
+
+    SimpleMetricsRegistry() {
+        metric(ITEM_LOOKUP, "ItemStack到自定义物品的解析");
+        metric(ITEM_STACK_CREATE, "自定义物品堆创建");
+        metric(ATTRIBUTE_READ, "物品堆属性读取");
+        metric(ATTRIBUTE_WRITE, "物品堆属性写入");
+        metric(RECIPE_MATCH, "自定义配方匹配");
+        metric(RECIPE_CACHE_HIT, "配方匹配缓存命中");
+        metric(CROP_GROWTH, "自定义作物生长事件");
+        metric(CROP_STORAGE_IO, "作物存储读写");
+    }
+
+    @Override
+    public @NotNull HotPathMetric metric(@NotNull String name, @NotNull String description) {
+        final HotPathMetric existing = metrics.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        // 与 setEnabled/setSampleRate 使用同一把锁，避免新指标在重新配置期间错过最新的开关与采样率
+        synchronized (this) {
+            return metrics.computeIfAbsent(name, n -> {
+                final HotPathMetric metric = new HotPathMetric(n, description);
+                metric.configure(enabled, sampleRate);
+                return metric;
+            });
+        }
+    }
+
+    @Override
+    public @Nullable HotPathMetric getMetric(@NotNull String name) {
+        return metrics.get(name);
+    }
+
+    @Override
+    public @NotNull Collection<HotPathMetric> getMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        reconfigure();
+    }
+
+    @Override
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public synchronized void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        reconfigure();
+    }
+
+    @Override
+    public void reset() {
+        metrics.values().forEach(HotPathMetric::reset);
+    }
+
+    @Override
+    public @NotNull String toPrometheusText() {
+        final StringBuilder builder = new StringBuilder(4096);
+        for (HotPathMetric metric : metrics.values()) {
+            final String counter = PREFIX + metric.getName() + "_total";
+            builder.append("# HELP ").append(counter).append(' ').append(escapeHelp(metric.getDescription())).append('\n')
+                    .append("# TYPE ").append(counter).append(" counter\n")
+                    .append(counter).append(' ').append(metric.getCount()).append('\n');
+            final LatencyHistogram latency = metric.getLatency();
+            final String histogram = PREFIX + metric.getName() + "_latency_seconds";
+            builder.append("# HELP ").append(histogram).append(' ').append(escapeHelp(metric.getDescription() + "（采样）")).append('\n')
+                    .append("# TYPE ").append(histogram).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                cumulative += latency.getBucketCount(i);
+                if (i < EXPORTED_BUCKETS) {
+                    builder.append(histogram).append("_bucket{le=\"")
+                            .append(LatencyHistogram.upperBoundNanos(i) / 1e9).append("\"} ").append(cumulative).append('\n');
+                }
+            }
+            builder.append(histogram).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n')
+                    .append(histogram).append("_sum ").append(latency.getTotalNanos() / 1e9).append('\n')
+                    .append(histogram).append("_count ").append(cumulative).append('\n');
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void writePrometheusText(@NotNull Path file) throws IOException {
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, toPrometheusText(), StandardCharsets.UTF_8);
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static String escapeHelp(String text) {
+        // Prometheus 文本格式要求 HELP 中的反斜杠和换行转义
+        return text.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private void reconfigure() {
+        for (HotPathMetric metric : metrics.values()) {
+            metric.configure(enabled, sampleRate);
+        }
+    }
+}
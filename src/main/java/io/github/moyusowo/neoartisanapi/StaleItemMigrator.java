@@ -0,0 +1,222 @@
+package io.github.moyusowo.neoartisanapi;
+
+import com.destroystokyo.paper.event.player.PlayerArmorChangeEvent;
+import io.github.moyusowo.neoartisanapi.api.item.ItemInspector;
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+final class StaleItemMigrator implements Listener, Runnable {
+
+    private static final int MAX_PENDING = 4096;
+
+    private static final int OFF_HAND_SLOT = 40;
+
+    private static final int FIRST_ARMOR_SLOT = 36;
+
+    private static final int STORAGE_SLOTS = 36;
+
+    private final Set<Touched> pending = new LinkedHashSet<>();
+
+    private final int maxPerTick;
+
+    StaleItemMigrator(int maxPerTick) {
+        this.maxPerTick = maxPerTick;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        final HumanEntity player = event.getWhoClicked();
+        final UUID playerId = player.getUniqueId();
+        final Inventory clicked = event.getClickedInventory();
+        final boolean top = clicked != null && clicked == event.getView().getTopInventory();
+        if (clicked != null && event.getSlot() >= 0) {
+            touch(top ? new TopSlot(playerId, event.getSlot()) : new PlayerSlot(playerId, event.getSlot()));
+        }
+        if (event.getHotbarButton() >= 0) {
+            touch(new PlayerSlot(playerId, event.getHotbarButton()));
+        }
+        touch(new Cursor(playerId));
+        if (clicked != null && event.getAction() == InventoryAction.MOVE_TO_OTHER_INVENTORY) {
+            touchShiftClickDestination(event, playerId, top);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHandItems(PlayerSwapHandItemsEvent event) {
+        final Player player = event.getPlayer();
+        touch(new PlayerSlot(player.getUniqueId(), player.getInventory().getHeldItemSlot()));
+        touch(new PlayerSlot(player.getUniqueId(), OFF_HAND_SLOT));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemHeld(PlayerItemHeldEvent event) {
+        touch(new PlayerSlot(event.getPlayer().getUniqueId(), event.getNewSlot()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onArmorChange(PlayerArmorChangeEvent event) {
+        final UUID playerId = event.getPlayer().getUniqueId();
+        for (int slot = FIRST_ARMOR_SLOT; slot < OFF_HAND_SLOT; slot++) {
+            touch(new PlayerSlot(playerId, slot));
+        }
+    }
+
+    @Override
+    public void run() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final ItemRegistry registry = ItemRegistry.getItemRegistryManager();
+        if (registry == null) {
+            pending.clear();
+            return;
+        }
+        final ItemInspector inspector = registry.getInspector();
+        int migrated = 0;
+        final Iterator<Touched> iterator = pending.iterator();
+        while (iterator.hasNext() && migrated < maxPerTick) {
+            final Touched touched = iterator.next();
+            iterator.remove();
+            if (touched.migrate(registry, inspector)) {
+                migrated++;
+            }
+        }
+    }
+
+    private void touchShiftClickDestination(InventoryClickEvent event, UUID playerId, boolean fromTop) {
+        final ItemInspector inspector = inspector();
+        final ItemStack moved = event.getCurrentItem();
+        if (inspector == null || !inspector.isStale(moved)) {
+            return;
+        }
+        // 事件发生在移动之前，目标槽位未知；物品只会进入空槽位或同类物品堆，只加入这些槽位
+        final Material type = moved.getType();
+        final Inventory topInventory = event.getView().getTopInventory();
+        if (fromTop || topInventory.getType() == InventoryType.CRAFTING) {
+            final PlayerInventory inventory = event.getWhoClicked().getInventory();
+            final int end = fromTop ? STORAGE_SLOTS : OFF_HAND_SLOT + 1;
+            for (int slot = 0; slot < end; slot++) {
+                if (canReceive(inventory.getItem(slot), type)) {
+                    touch(new PlayerSlot(playerId, slot));
+                }
+            }
+        } else {
+            for (int slot = 0; slot < topInventory.getSize(); slot++) {
+                if (canReceive(topInventory.getItem(slot), type)) {
+                    touch(new TopSlot(playerId, slot));
+                }
+            }
+        }
+    }
+
+    private void touch(Touched touched) {
+        // 队列已满时直接丢弃，物品堆会在下次被操作时重新加入
+        if (pending.size() < MAX_PENDING) {
+            pending.add(touched);
+        }
+    }
+
+    private static boolean canReceive(ItemStack itemStack, Material type) {
+        return itemStack == null || itemStack.isEmpty() || itemStack.getType() == type;
+    }
+
+    private static ItemInspector inspector() {
+        final ItemRegistry registry = ItemRegistry.getItemRegistryManager();
+        return registry == null ? null : registry.getInspector();
+    }
+
+    private static ItemStack migrate(ItemRegistry registry, ItemInspector inspector, ItemStack itemStack) {
+        return inspector.isStale(itemStack) ? registry.migrate(itemStack) : null;
+    }
+
+    /**
+     * 被操作过的槽位，处理时才解析到物品栏，玩家离线或容器失效时跳过。
+     */
+    private sealed interface Touched permits PlayerSlot, TopSlot, Cursor {
+
+        /**
+         * @return 如果迁移了物品堆返回true
+         */
+        boolean migrate(ItemRegistry registry, ItemInspector inspector);
+    }
+
+    private record PlayerSlot(UUID playerId, int slot) implements Touched {
+
+        @Override
+        public boolean migrate(ItemRegistry registry, ItemInspector inspector) {
+            final Player player = Bukkit.getPlayer(playerId);
+            if (player == null) {
+                return false;
+            }
+            final PlayerInventory inventory = player.getInventory();
+            final ItemStack migrated = StaleItemMigrator.migrate(registry, inspector, inventory.getItem(slot));
+            if (migrated == null) {
+                return false;
+            }
+            inventory.setItem(slot, migrated);
+            return true;
+        }
+    }
+
+    /**
+     * 玩家当前打开界面的上半部分物品栏中的槽位。
+     *
+     * <p>玩家在处理前换了界面时会落到新界面的同一槽位上，这里只迁移确实过期的物品堆，因此不会造成错误修改。</p>
+     */
+    private record TopSlot(UUID playerId, int slot) implements Touched {
+
+        @Override
+        public boolean migrate(ItemRegistry registry, ItemInspector inspector) {
+            final Player player = Bukkit.getPlayer(playerId);
+            if (player == null) {
+                return false;
+            }
+            final Inventory inventory = player.getOpenInventory().getTopInventory();
+            if (slot >= inventory.getSize()) {
+                return false;
+            }
+            final ItemStack migrated = StaleItemMigrator.migrate(registry, inspector, inventory.getItem(slot));
+            if (migrated == null) {
+                return false;
+            }
+            inventory.setItem(slot, migrated);
+            return true;
+        }
+    }
+
+    private record Cursor(UUID playerId) implements Touched {
+
+        @Override
+        public boolean migrate(ItemRegistry registry, ItemInspector inspector) {
+            final Player player = Bukkit.getPlayer(playerId);
+            if (player == null) {
+                return false;
+            }
+            final ItemStack migrated = StaleItemMigrator.migrate(registry, inspector, player.getItemOnCursor());
+            if (migrated == null) {
+                return false;
+            }
+            player.setItemOnCursor(migrated);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.moyusowo.neoartisanapi.api.attribute;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 带类型的物品堆属性句柄。
+ *
+ * <p>句柄通过 {@link AttributeRegistry#getItemstackAttributeKey(NamespacedKey, Class)} 获取，
+ * 获取时已解析好对应的 {@link PersistentDataType}，读写时无需再按类型名称查询 {@link AttributeTypeRegistry}，
+ * 也不需要未检查的类型转换。</p>
+ *
+ * <p>句柄应在插件初始化时获取一次并保存复用：</p>
+ * <pre>{@code
+ * private static final AttributeKey<String> OWNER = AttributeRegistry.getAttributeRegistryManager()
+ *     .getItemstackAttributeKey(new NamespacedKey(plugin, "owner"), String.class);
+ *
+ * String owner = OWNER.get(itemStack);
+ * }</pre>
+ *
+ * @param <T> 属性值类型
+ * @apiNote 不保证API的线程安全
+ * @see IntAttributeKey
+ * @see DoubleAttributeKey
+ */
+@SuppressWarnings("unused")
+public interface AttributeKey<T> {
+
+    /**
+     * 获取属性的命名空间键。
+     *
+     * @return 属性键（不会为null）
+     */
+    @NotNull NamespacedKey getKey();
+
+    /**
+     * 获取属性注册时指定的类型名称。
+     *
+     * @return 类型名称（不会为null）
+     * @see AttributeRegistry#getItemstackAttributeTypeName(NamespacedKey)
+     */
+    @NotNull String getTypeName();
+
+    /**
+     * 获取属性对应的持久化存储类型。
+     *
+     * @return 已解析的PDC持久化类型（不会为null）
+     * @see AttributeTypeRegistry#getAttributePDCType(String)
+     */
+    @NotNull PersistentDataType<?, T> getPDCType();
+
+    /**
+     * 检查物品堆上是否存在此属性的值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @return 如果存在该属性值返回true
+     */
+    boolean has(@NotNull ItemStack itemStack);
+
+    /**
+     * 读取物品堆上此属性的值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @return 属性值，如果不存在返回null
+     */
+    @Nullable T get(@NotNull ItemStack itemStack);
+
+    /**
+     * 设置物品堆上此属性的值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param value 要设置的值（不能为null）
+     * @throws IllegalArgumentException 如果物品堆不是自定义物品
+     */
+    void set(@NotNull ItemStack itemStack, @NotNull T value);
+}
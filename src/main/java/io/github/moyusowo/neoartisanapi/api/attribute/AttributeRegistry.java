@@ -1,6 +1,6 @@
 package io.github.moyusowo.neoartisanapi.api.attribute;
 
-import org.bukkit.Bukkit;
+import io.github.moyusowo.neoartisanapi.api.registry.FreezableRegistry;
 import org.bukkit.NamespacedKey;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,10 +16,10 @@ import org.jetbrains.annotations.NotNull;
  * <p>通过此接口可以注册、获取和管理服务器中属性系统的所有属性。
  *  * 通过 {@link org.bukkit.Bukkit#getServicesManager()} 获取实例。</p>
  *
- * @apiNote 不保证API的线程安全
+ * @apiNote 冻结前不保证API的线程安全；冻结后（见 {@link FreezableRegistry}）查询方法可以在任意线程调用
  */
 @SuppressWarnings("unused")
-public interface AttributeRegistry {
+public interface AttributeRegistry extends FreezableRegistry {
 
     /**
      * 获取物品属性注册表的实例。
@@ -27,7 +27,7 @@ public interface AttributeRegistry {
      * @return 物品属性注册表的实例
      */
     static AttributeRegistry getAttributeRegistryManager() {
-        return Bukkit.getServicesManager().load(AttributeRegistry.class);
+        return Services.ATTRIBUTE_REGISTRY.get();
     }
 
     /**
@@ -39,6 +39,7 @@ public interface AttributeRegistry {
      * @param attributeKey 属性的命名空间键（不能为null）
      * @param typeName 属性类型名称（不能为null或空）
      * @throws IllegalArgumentException 如果属性已注册或参数无效
+     * @throws IllegalStateException 如果注册表已冻结
      */
     void registerGlobalAttribute(@NotNull NamespacedKey attributeKey, @NotNull String typeName);
 
@@ -51,6 +52,7 @@ public interface AttributeRegistry {
      * @param attributeKey 属性的命名空间键（不能为null）
      * @param typeName 属性类型名称（不能为null或空）
      * @throws IllegalArgumentException 如果属性已注册或参数无效
+     * @throws IllegalStateException 如果注册表已冻结
      */
     void registerItemstackAttribute(@NotNull NamespacedKey attributeKey, @NotNull String typeName);
 
@@ -89,4 +91,39 @@ public interface AttributeRegistry {
      * @apiNote 调用该方法之前应该总是调用 {@link AttributeRegistry#hasItemstackAttribute(NamespacedKey)}
      */
     @NotNull String getItemstackAttributeTypeName(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 获取物品堆属性的带类型句柄。
+     *
+     * <p>句柄在获取时解析好属性的 {@link org.bukkit.persistence.PersistentDataType}，
+     * 之后的读写无需再查询类型注册表，建议在插件初始化时获取一次并保存复用。</p>
+     *
+     * @param attributeKey 要获取的属性键（不能为null）
+     * @param javaType 属性值的Java类型（必须与注册类型对应的Java类型一致）
+     * @return 属性句柄（不会为null）
+     * @param <T> 属性值类型
+     * @throws IllegalArgumentException 如果属性未注册或类型不匹配
+     * @see AttributeKey
+     */
+    @NotNull <T> AttributeKey<T> getItemstackAttributeKey(@NotNull NamespacedKey attributeKey, @NotNull Class<T> javaType);
+
+    /**
+     * 获取 {@code int} 类型物品堆属性的专用句柄。
+     *
+     * @param attributeKey 要获取的属性键（不能为null）
+     * @return 属性句柄（不会为null）
+     * @throws IllegalArgumentException 如果属性未注册或不是 {@code int} 类型
+     * @see IntAttributeKey
+     */
+    @NotNull IntAttributeKey getIntItemstackAttributeKey(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 获取 {@code double} 类型物品堆属性的专用句柄。
+     *
+     * @param attributeKey 要获取的属性键（不能为null）
+     * @return 属性句柄（不会为null）
+     * @throws IllegalArgumentException 如果属性未注册或不是 {@code double} 类型
+     * @see DoubleAttributeKey
+     */
+    @NotNull DoubleAttributeKey getDoubleItemstackAttributeKey(@NotNull NamespacedKey attributeKey);
 }
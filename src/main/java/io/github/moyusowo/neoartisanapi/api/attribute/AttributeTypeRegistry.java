@@ -1,6 +1,6 @@
 package io.github.moyusowo.neoartisanapi.api.attribute;
 
-import org.bukkit.Bukkit;
+import io.github.moyusowo.neoartisanapi.api.registry.FreezableRegistry;
 import org.bukkit.persistence.PersistentDataType;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,12 +19,12 @@ import org.jetbrains.annotations.NotNull;
  *
  * <p>通过 {@link org.bukkit.Bukkit#getServicesManager()} 获取实例。</p>
  *
- * @apiNote 此接口的实现不保证线程安全，建议在主线程调用
+ * @apiNote 冻结前此接口的实现不保证线程安全，建议在主线程调用；冻结后（见 {@link FreezableRegistry}）查询方法可以在任意线程调用
  * @see org.bukkit.persistence.PersistentDataType
  * @see org.bukkit.plugin.ServicesManager
  */
 @SuppressWarnings("unused")
-public interface AttributeTypeRegistry {
+public interface AttributeTypeRegistry extends FreezableRegistry {
 
     /**
      * 获取属性数据类型注册表的实例。
@@ -32,7 +32,7 @@ public interface AttributeTypeRegistry {
      * @return 属性数据类型注册表的实例
      */
     static AttributeTypeRegistry getAttributeTypeRegistryManager() {
-        return Bukkit.getServicesManager().load(AttributeTypeRegistry.class);
+        return Services.ATTRIBUTE_TYPE_REGISTRY.get();
     }
 
     /**
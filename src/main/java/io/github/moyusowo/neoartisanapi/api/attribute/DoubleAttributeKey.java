@@ -0,0 +1,46 @@
+package io.github.moyusowo.neoartisanapi.api.attribute;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@code double} 类型物品堆属性的专用句柄。
+ *
+ * <p>提供直接读写 {@code double} 的方法，避免装箱与拆箱。属性的持久化类型固定为
+ * {@link org.bukkit.persistence.PersistentDataType#DOUBLE}。</p>
+ *
+ * @apiNote 不保证API的线程安全
+ * @see AttributeRegistry#getDoubleItemstackAttributeKey(org.bukkit.NamespacedKey)
+ */
+@SuppressWarnings("unused")
+public interface DoubleAttributeKey extends AttributeKey<Double> {
+
+    /**
+     * 读取物品堆上此属性的值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    double getDouble(@NotNull ItemStack itemStack, double defaultValue);
+
+    /**
+     * 读取物品堆上此属性的值，不存在时返回 {@code 0D}。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @return 属性值，如果不存在返回 {@code 0D}
+     * @see #getDouble(ItemStack, double)
+     */
+    default double getDouble(@NotNull ItemStack itemStack) {
+        return getDouble(itemStack, 0D);
+    }
+
+    /**
+     * 设置物品堆上此属性的值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param value 要设置的值
+     * @throws IllegalArgumentException 如果物品堆不是自定义物品
+     */
+    void setDouble(@NotNull ItemStack itemStack, double value);
+}
@@ -0,0 +1,13 @@
+package io.github.moyusowo.neoartisanapi.api.attribute;
+
+import io.github.moyusowo.neoartisanapi.api.service.ServiceHolder;
+
+final class Services {
+
+    static final ServiceHolder<AttributeRegistry> ATTRIBUTE_REGISTRY = ServiceHolder.of(AttributeRegistry.class);
+
+    static final ServiceHolder<AttributeTypeRegistry> ATTRIBUTE_TYPE_REGISTRY = ServiceHolder.of(AttributeTypeRegistry.class);
+
+    private Services() {
+    }
+}
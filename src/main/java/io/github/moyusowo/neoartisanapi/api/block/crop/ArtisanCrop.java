@@ -7,8 +7,19 @@ public interface ArtisanCrop {
 
     @NotNull NamespacedKey getCropId();
 
+    /**
+     * @return 运行时数字ID，只在本次运行期间稳定，重启或注册顺序变化后可能不同；持久化时应保存 {@link #getCropId()}
+     * @see CropRegistry#getNumericId(NamespacedKey)
+     */
+    int getNumericId();
+
     @NotNull CropStageProperty getStage(int n);
 
+    /**
+     * @return 第n阶段的共享实例，由注册时构建的 {@link CropStageTable} 提供
+     */
+    @NotNull CurrentCropStage getCurrentStage(int n);
+
     int getMaxStage();
 
     int getActualState();
@@ -1,14 +1,15 @@
 package io.github.moyusowo.neoartisanapi.api.block.crop;
 
 import io.github.moyusowo.neoartisanapi.api.attribute.AttributeRegistry;
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface ArtisanCropStorage {
 
     static ArtisanCropStorage getArtisanCropStorageManager() {
-        return Bukkit.getServicesManager().load(ArtisanCropStorage.class);
+        return Services.CROP_STORAGE.get();
     }
 
     CurrentCropStage getArtisanCropStage(World world, int x, int y, int z);
@@ -18,4 +19,41 @@ public interface ArtisanCropStorage {
     boolean isArtisanCrop(Block block);
 
     boolean isArtisanCrop(World world, int x, int y, int z);
+
+    /**
+     * 区块的作物数据在区块加载时异步解码，见
+     * {@link io.github.moyusowo.neoartisanapi.api.block.crop.storage.CropChunkPrefetcher}。
+     * 在解码完成之前查询该区块的方法最多等待这一个区块
+     * {@link io.github.moyusowo.neoartisanapi.api.block.crop.storage.CropChunkPrefetcher#DEFAULT_AWAIT_MILLIS} 毫秒，
+     * 仍未完成时按尚未就绪处理，与未加载的区块一样视为没有作物，主线程不会同步读取区域文件。
+     */
+    boolean isChunkReady(World world, int chunkX, int chunkZ);
+
+    /**
+     * @return 该位置作物的运行时数字ID，没有作物返回 {@link CropRegistry#NO_NUMERIC_ID}
+     */
+    int getCropNumericId(World world, int x, int y, int z);
+
+    /**
+     * @return 该位置作物的当前阶段，没有作物返回-1
+     */
+    int getStage(World world, int x, int y, int z);
+
+    /**
+     * 遍历区块内的所有自定义作物，只访问存在作物的区段；区块未加载时不做任何事。
+     */
+    void forEachCropInChunk(World world, int chunkX, int chunkZ, CropVisitor visitor);
+
+    /**
+     * 遍历方块坐标范围（包含两端）内的所有自定义作物，只访问与范围相交且存在作物的区段，
+     * 开销与作物数量成正比而不是与范围体积成正比。
+     */
+    void forEachCropInRegion(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, CropVisitor visitor);
+
+    /**
+     * 保存世界中发生变化的区块。主线程只为脏区块生成快照，写入区域文件在异步线程完成，
+     * 见 {@link io.github.moyusowo.neoartisanapi.api.block.crop.storage.CropRegionStore#writeChunksAsync(java.util.Map, java.util.concurrent.Executor)}。
+     * 写入完成之前重新加载的区块从快照读取，不会读到旧数据。
+     */
+    CompletableFuture<Void> saveDirtyChunks(World world);
 }
@@ -0,0 +1,87 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+
+/**
+ * 自定义作物生长调度器。
+ *
+ * <p>作物种下或进入下一阶段时，按 {@link #getGrowthTicks(NamespacedKey, int)} 计算下一次生长的时间，
+ * 放入按区块组织的分层时间轮（见 {@link io.github.moyusowo.neoartisanapi.api.block.crop.growth.CropGrowthWheel}），
+ * 每刻只处理到期的作物，并且最多处理 {@link #getTickBudget()} 个，超出的部分顺延到下一刻。</p>
+ *
+ * <p>各阶段的生长时间保存在调度器自己的表中，由 {@link #setGrowthTicks(NamespacedKey, int[])} 设置，
+ * 不属于 {@link CropStageProperty}；没有设置的作物和阶段使用 {@link #getDefaultGrowthTicks()}。</p>
+ *
+ * <p>区块卸载期间到期的作物不会被处理，区块重新加载时按经过的时间一次性推进到应达到的阶段。</p>
+ */
+public interface CropGrowthEngine {
+
+    /**
+     * 在 {@link #setGrowthTicks(NamespacedKey, int[])} 中表示该阶段使用默认生长时间。
+     */
+    int DEFAULT_GROWTH_TICKS = 0;
+
+    static CropGrowthEngine getCropGrowthEngineManager() {
+        return Services.CROP_GROWTH_ENGINE.get();
+    }
+
+    /**
+     * 按作物当前阶段重新安排下一次生长，已有的计划会被替换；已达到最大阶段的作物不会被安排。
+     */
+    void schedule(World world, int x, int y, int z);
+
+    /**
+     * 取消该位置作物的生长计划，没有计划时不做任何事。
+     */
+    void cancel(World world, int x, int y, int z);
+
+    /**
+     * @return 如果该位置的作物有尚未到期的生长计划返回true
+     */
+    boolean isScheduled(World world, int x, int y, int z);
+
+    /**
+     * @return 每刻最多处理的到期作物数量
+     */
+    int getTickBudget();
+
+    /**
+     * @param tickBudget 每刻最多处理的到期作物数量，超出的部分顺延到下一刻
+     * @throws IllegalArgumentException 如果tickBudget不大于0
+     */
+    void setTickBudget(int tickBudget);
+
+    /**
+     * @return 没有单独设置生长时间的阶段所用的刻数
+     */
+    int getDefaultGrowthTicks();
+
+    /**
+     * 修改后只影响之后安排的生长计划，已在时间轮中的计划不变。
+     *
+     * @param defaultGrowthTicks 没有单独设置生长时间的阶段所用的刻数
+     * @throws IllegalArgumentException 如果defaultGrowthTicks不大于0
+     */
+    void setDefaultGrowthTicks(int defaultGrowthTicks);
+
+    /**
+     * 设置作物各阶段的生长时间，替换之前的设置。
+     *
+     * @param cropId 已注册的作物ID
+     * @param growthTicks 下标为阶段，值为从该阶段生长到下一阶段所需的刻数，{@link #DEFAULT_GROWTH_TICKS} 表示使用默认值；
+     *                    长度不足的部分和最大阶段使用默认值，数组会被复制
+     * @throws IllegalArgumentException 如果作物未注册或存在负数
+     */
+    void setGrowthTicks(NamespacedKey cropId, int[] growthTicks);
+
+    /**
+     * @return 作物从该阶段生长到下一阶段所需的刻数，没有单独设置时返回 {@link #getDefaultGrowthTicks()}
+     */
+    int getGrowthTicks(NamespacedKey cropId, int stage);
+
+    /**
+     * @return 时间轮中尚未处理的生长计划数量，包括因超出预算顺延的计划
+     */
+    int getPendingCount();
+}
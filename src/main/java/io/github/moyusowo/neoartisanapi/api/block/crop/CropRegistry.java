@@ -1,14 +1,17 @@
 package io.github.moyusowo.neoartisanapi.api.block.crop;
 
-import org.bukkit.Bukkit;
+import io.github.moyusowo.neoartisanapi.api.registry.FreezableRegistry;
 import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
-public interface CropRegistry {
+public interface CropRegistry extends FreezableRegistry {
+
+    int NO_NUMERIC_ID = -1;
 
     static CropRegistry getCropRegistryManager() {
-        return Bukkit.getServicesManager().load(CropRegistry.class);
+        return Services.CROP_REGISTRY.get();
     }
 
     void registerCrop(NamespacedKey cropId, int actualState, List<CropStageProperty> stages);
@@ -16,4 +19,18 @@ public interface CropRegistry {
     boolean isArtisanCrop(NamespacedKey cropId);
 
     ArtisanCrop getArtisanCrop(NamespacedKey cropId);
+
+    /**
+     * 数字ID按注册顺序连续分配，只在本次运行期间保持不变。服务器重启、作物增删或插件加载顺序变化后，
+     * 同一作物可能得到不同的数字ID，因此不能把数字ID直接写入磁盘；持久化时应保存注册ID或注册ID调色板的下标。
+     *
+     * @return 数字ID，未注册返回 {@link #NO_NUMERIC_ID}
+     */
+    int getNumericId(NamespacedKey cropId);
+
+    /**
+     * @return 数字ID对应的作物，数字ID无效返回null
+     * @see #getNumericId(NamespacedKey)
+     */
+    @Nullable ArtisanCrop getArtisanCrop(int numericId);
 }
@@ -12,8 +12,27 @@ public record CropStageProperty(int appearanceState, NamespacedKey[] drops) {
         this.drops = Arrays.copyOf(drops, drops.length);
     }
 
+    /**
+     * 每次调用都会复制数组，热点路径应使用 {@link #dropCount()} 和 {@link #drop(int)}。
+     */
     @Override
     public NamespacedKey[] drops() {
         return Arrays.copyOf(drops, drops.length);
     }
+
+    /**
+     * @return 掉落物数量
+     */
+    public int dropCount() {
+        return drops.length;
+    }
+
+    /**
+     * 按下标读取掉落物，不复制数组。
+     *
+     * @throws IndexOutOfBoundsException 如果下标越界
+     */
+    public NamespacedKey drop(int index) {
+        return drops[index];
+    }
 }
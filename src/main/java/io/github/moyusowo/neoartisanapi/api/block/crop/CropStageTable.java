@@ -0,0 +1,132 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一种作物全部生长阶段的享元表。
+ *
+ * <p>注册作物时为每个阶段创建一个不可变的 {@link CurrentCropStage} 实例，之后查询阶段、
+ * 推进到下一阶段和读取掉落物都直接返回这些实例和预先构建的不可变列表，生长与收获过程不会分配对象。</p>
+ *
+ * @see ArtisanCrop#getCurrentStage(int)
+ */
+@SuppressWarnings("unused")
+public final class CropStageTable {
+
+    private final Stage[] stages;
+
+    private CropStageTable(Stage[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * 为作物的阶段 {@code 0} 到 {@link ArtisanCrop#getMaxStage()} 构建享元表。
+     */
+    public static @NotNull CropStageTable of(@NotNull ArtisanCrop crop) {
+        final int maxStage = crop.getMaxStage();
+        final Stage[] stages = new Stage[maxStage + 1];
+        for (int i = maxStage; i >= 0; i--) {
+            final CropStageProperty property = crop.getStage(i);
+            stages[i] = new Stage(crop.getCropId(), i, maxStage, property.appearanceState(), Collections.unmodifiableList(Arrays.asList(property.drops())), i == maxStage ? null : stages[i + 1]);
+        }
+        return new CropStageTable(stages);
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException 如果阶段超出范围
+     */
+    public @NotNull CurrentCropStage get(int stage) {
+        return stages[stage];
+    }
+
+    /**
+     * @return 阶段数量，即 {@link ArtisanCrop#getMaxStage()} 加一
+     */
+    public int size() {
+        return stages.length;
+    }
+
+    private static final class Stage implements CurrentCropStage {
+
+        private final NamespacedKey cropId;
+
+        private final int stage;
+
+        private final int maxStage;
+
+        private final int blockState;
+
+        private final List<NamespacedKey> drops;
+
+        private final Stage next;
+
+        private Stage(NamespacedKey cropId, int stage, int maxStage, int blockState, List<NamespacedKey> drops, Stage next) {
+            this.cropId = cropId;
+            this.stage = stage;
+            this.maxStage = maxStage;
+            this.blockState = blockState;
+            this.drops = drops;
+            this.next = next;
+        }
+
+        @Override
+        public NamespacedKey cropId() {
+            return cropId;
+        }
+
+        @Override
+        public int stage() {
+            return stage;
+        }
+
+        @Override
+        public int getBlockState() {
+            return blockState;
+        }
+
+        @Override
+        public NamespacedKey[] getDrops() {
+            return drops.toArray(new NamespacedKey[0]);
+        }
+
+        @Override
+        public @NotNull List<NamespacedKey> getDropList() {
+            return drops;
+        }
+
+        @Override
+        public int getDropCount() {
+            return drops.size();
+        }
+
+        @Override
+        public NamespacedKey getDrop(int index) {
+            return drops.get(index);
+        }
+
+        @Override
+        public boolean hasNextStage() {
+            return next != null;
+        }
+
+        @Override
+        public CurrentCropStage getNextStage() {
+            return next == null ? this : next;
+        }
+
+        @Override
+        public int getMaxStage() {
+            return maxStage;
+        }
+
+        @Override
+        public String toString() {
+            return "CurrentCropStage{" + cropId + ", stage=" + stage + "/" + maxStage + "}";
+        }
+    }
+}
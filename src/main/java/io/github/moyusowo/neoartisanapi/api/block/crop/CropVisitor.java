@@ -0,0 +1,20 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop;
+
+/**
+ * 遍历自定义作物时的回调，参数直接以基本类型传递，遍历过程不会为每个作物分配对象。
+ *
+ * @see ArtisanCropStorage#forEachCropInChunk(org.bukkit.World, int, int, CropVisitor)
+ * @see ArtisanCropStorage#forEachCropInRegion(org.bukkit.World, int, int, int, int, int, int, CropVisitor)
+ */
+@FunctionalInterface
+public interface CropVisitor {
+
+    /**
+     * @param x 世界方块X坐标
+     * @param y 世界方块Y坐标
+     * @param z 世界方块Z坐标
+     * @param cropId 作物数字ID，可通过 {@link CropRegistry#getArtisanCrop(int)} 获取作物
+     * @param stage 当前生长阶段
+     */
+    void visit(int x, int y, int z, int cropId, int stage);
+}
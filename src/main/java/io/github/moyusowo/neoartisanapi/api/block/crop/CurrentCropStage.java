@@ -1,7 +1,13 @@
 package io.github.moyusowo.neoartisanapi.api.block.crop;
 
 import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
+/**
+ * 实例由 {@link CropStageTable} 预先创建，每种作物的每个阶段只有一个实例，可以直接用 {@code ==} 比较。
+ */
 @SuppressWarnings("unused")
 public interface CurrentCropStage {
 
@@ -11,10 +17,33 @@ public interface CurrentCropStage {
 
     int getBlockState();
 
+    /**
+     * 每次调用都会复制数组，热点路径应使用 {@link #getDropList()} 或 {@link #getDrop(int)}。
+     */
     NamespacedKey[] getDrops();
 
+    /**
+     * @return 不可修改的掉落物列表，不会复制
+     */
+    @NotNull List<NamespacedKey> getDropList();
+
+    /**
+     * @return 掉落物数量
+     */
+    int getDropCount();
+
+    /**
+     * 按下标读取掉落物，不复制。
+     *
+     * @throws IndexOutOfBoundsException 如果下标越界
+     */
+    NamespacedKey getDrop(int index);
+
     boolean hasNextStage();
 
+    /**
+     * @return 下一阶段的共享实例，不会创建新对象；如果已是最大阶段，返回当前实例
+     */
     CurrentCropStage getNextStage();
 
     int getMaxStage();
@@ -0,0 +1,15 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop;
+
+import io.github.moyusowo.neoartisanapi.api.service.ServiceHolder;
+
+final class Services {
+
+    static final ServiceHolder<CropRegistry> CROP_REGISTRY = ServiceHolder.of(CropRegistry.class);
+
+    static final ServiceHolder<ArtisanCropStorage> CROP_STORAGE = ServiceHolder.of(ArtisanCropStorage.class);
+
+    static final ServiceHolder<CropGrowthEngine> CROP_GROWTH_ENGINE = ServiceHolder.of(CropGrowthEngine.class);
+
+    private Services() {
+    }
+}
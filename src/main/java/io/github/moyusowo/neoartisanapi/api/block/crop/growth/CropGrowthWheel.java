@@ -0,0 +1,272 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.growth;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 作物生长计划使用的分层时间轮。
+ *
+ * <p>时间轮共4层，每层64个槽位，第k层每个槽位跨越 {@code 64^k} 刻，可以覆盖约 {@code 64^4} 刻（约9.7天）内的计划，
+ * 更远的计划放入溢出链表，在顶层轮转时重新分配。插入和取消都是O(1)，
+ * 每刻只处理到期的槽位，不会遍历未到期的作物。</p>
+ *
+ * <p>到期的条目先进入就绪队列，{@link #advance(long, int, DueVisitor)} 每次最多处理指定数量的就绪条目，
+ * 超出预算的部分保留到下一刻优先处理。</p>
+ *
+ * <p>条目以区块键和区块内位置标识作物，位置由 {@link #packPosition(int, int, int)} 打包。</p>
+ *
+ * @apiNote 不保证线程安全，应只在主线程使用
+ */
+@SuppressWarnings("unused")
+public final class CropGrowthWheel {
+
+    private static final int LEVELS = 4;
+
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final Entry[][] wheels = new Entry[LEVELS][SLOTS];
+
+    private final Entry overflow = Entry.sentinel();
+
+    private final Entry ready = Entry.sentinel();
+
+    private long currentTick;
+
+    private int size;
+
+    /**
+     * @param currentTick 时间轮的起始刻
+     */
+    public CropGrowthWheel(long currentTick) {
+        this.currentTick = currentTick;
+        for (Entry[] wheel : wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                wheel[i] = Entry.sentinel();
+            }
+        }
+    }
+
+    /**
+     * 打包区块内的方块位置，X和Z只使用低4位，可以直接传入世界坐标。
+     */
+    public static int packPosition(int x, int y, int z) {
+        return y << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    /**
+     * @return 打包位置中的区块内X坐标（0到15）
+     */
+    public static int unpackLocalX(int position) {
+        return position & 15;
+    }
+
+    /**
+     * @return 打包位置中的世界Y坐标
+     */
+    public static int unpackY(int position) {
+        return position >> 8;
+    }
+
+    /**
+     * @return 打包位置中的区块内Z坐标（0到15）
+     */
+    public static int unpackLocalZ(int position) {
+        return (position >>> 4) & 15;
+    }
+
+    /**
+     * 添加一个生长计划。
+     *
+     * @param chunkKey 区块键
+     * @param position 由 {@link #packPosition(int, int, int)} 打包的区块内位置
+     * @param dueTick 到期的刻，早于当前刻时会在下一次推进时立即就绪
+     * @return 计划条目，可用于 {@link #cancel(Entry)}
+     */
+    public @NotNull Entry schedule(long chunkKey, int position, long dueTick) {
+        final Entry entry = new Entry(chunkKey, position, dueTick);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * 取消一个尚未处理的生长计划。
+     *
+     * @return 如果条目仍在计划中返回true
+     */
+    public boolean cancel(@NotNull Entry entry) {
+        if (!entry.isScheduled()) return false;
+        entry.unlink();
+        size--;
+        return true;
+    }
+
+    /**
+     * 推进时间轮到指定的刻，并处理最多budget个到期条目。
+     *
+     * @param now 当前刻，不能早于上一次推进的刻
+     * @param budget 本次最多处理的条目数量
+     * @param visitor 到期回调，回调中可以继续调用 {@link #schedule(long, int, long)} 安排下一次生长
+     * @return 本次处理的条目数量
+     */
+    public int advance(long now, int budget, @NotNull DueVisitor visitor) {
+        while (currentTick < now) {
+            currentTick++;
+            if ((currentTick & SLOT_MASK) == 0) {
+                cascade(1);
+            }
+            ready.spliceFrom(wheels[0][(int) (currentTick & SLOT_MASK)]);
+        }
+        int processed = 0;
+        while (processed < budget && ready.next != ready) {
+            final Entry entry = ready.next;
+            entry.unlink();
+            size--;
+            processed++;
+            visitor.due(entry.chunkKey, entry.position, entry.dueTick);
+        }
+        return processed;
+    }
+
+    /**
+     * @return 时间轮当前所在的刻
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return 计划中（包括已就绪未处理）的条目数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 已到期但因预算限制尚未处理的条目数量是否大于0
+     */
+    public boolean hasBacklog() {
+        return ready.next != ready;
+    }
+
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            final Entry pending = Entry.sentinel();
+            pending.spliceFrom(overflow);
+            replace(pending);
+            return;
+        }
+        final int slot = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        if (slot == 0) {
+            cascade(level + 1);
+        }
+        final Entry pending = Entry.sentinel();
+        pending.spliceFrom(wheels[level][slot]);
+        replace(pending);
+    }
+
+    private void replace(Entry pending) {
+        Entry entry = pending.next;
+        while (entry != pending) {
+            final Entry next = entry.next;
+            entry.prev = entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void place(Entry entry) {
+        final long delta = entry.dueTick - currentTick;
+        if (delta <= 0) {
+            ready.linkLast(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << ((level + 1) * SLOT_BITS)) {
+                final int slot = (int) ((entry.dueTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+                wheels[level][slot].linkLast(entry);
+                return;
+            }
+        }
+        overflow.linkLast(entry);
+    }
+
+    /**
+     * 到期条目的回调。
+     */
+    @FunctionalInterface
+    public interface DueVisitor {
+
+        void due(long chunkKey, int position, long dueTick);
+    }
+
+    /**
+     * 时间轮中的一个生长计划。
+     */
+    public static final class Entry {
+
+        private final long chunkKey;
+
+        private final int position;
+
+        private final long dueTick;
+
+        private Entry prev;
+
+        private Entry next;
+
+        private Entry(long chunkKey, int position, long dueTick) {
+            this.chunkKey = chunkKey;
+            this.position = position;
+            this.dueTick = dueTick;
+        }
+
+        private static Entry sentinel() {
+            final Entry sentinel = new Entry(0L, 0, 0L);
+            sentinel.prev = sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        public long getChunkKey() {
+            return chunkKey;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        public long getDueTick() {
+            return dueTick;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+
+        private void linkLast(Entry entry) {
+            entry.prev = prev;
+            entry.next = this;
+            prev.next = entry;
+            prev = entry;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = next = null;
+        }
+
+        private void spliceFrom(Entry other) {
+            if (other.next == other) return;
+            final Entry first = other.next, last = other.prev;
+            first.prev = prev;
+            prev.next = first;
+            last.next = this;
+            prev = last;
+            other.prev = other.next = other;
+        }
+    }
+}
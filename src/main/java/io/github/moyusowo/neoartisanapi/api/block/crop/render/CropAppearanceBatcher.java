@@ -0,0 +1,198 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.render;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按区段合并一刻内的作物外观变化。
+ *
+ * <p>作物的外观由 {@link io.github.moyusowo.neoartisanapi.api.block.crop.CropStageProperty#appearanceState()}
+ * 替换后的方块状态决定。逐个发送方块变化包会在大型农场生长时淹没客户端，本类在一刻内收集所有变化，
+ * 同一位置的多次变化只保留最后一次，{@link #flush(SectionSender)} 时每个区段只生成一次批量发送，
+ * 并跳过不在发送视距内的玩家。主线程的发包工作量与变化的区段数量成正比。</p>
+ *
+ * <p>实际的数据包由 {@link SectionSender} 构建，实现通常使用原版的区段方块批量更新包。</p>
+ *
+ * @apiNote 不保证线程安全，应只在主线程使用
+ */
+@SuppressWarnings("unused")
+public final class CropAppearanceBatcher {
+
+    private static final int MAX_POOLED = 64;
+
+    private final Map<World, Map<Long, SectionBatch>> dirty = new IdentityHashMap<>();
+
+    private final ArrayDeque<SectionBatch> pool = new ArrayDeque<>();
+
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    private int pendingSections;
+
+    /**
+     * 记录一个方块的外观变化。
+     *
+     * @param state 新的方块状态ID
+     */
+    public void mark(@NotNull World world, int x, int y, int z, int state) {
+        final long key = sectionKey(x >> 4, y >> 4, z >> 4);
+        final Map<Long, SectionBatch> sections = dirty.computeIfAbsent(world, w -> new HashMap<>());
+        SectionBatch batch = sections.get(key);
+        if (batch == null) {
+            batch = pool.isEmpty() ? new SectionBatch() : pool.poll();
+            batch.reset(x >> 4, y >> 4, z >> 4);
+            sections.put(key, batch);
+            pendingSections++;
+        }
+        batch.put((short) ((x & 15) << 8 | (z & 15) << 4 | (y & 15)), state);
+    }
+
+    /**
+     * @return 等待发送的区段数量
+     */
+    public int getPendingSections() {
+        return pendingSections;
+    }
+
+    /**
+     * 发送并清空本刻收集的所有变化。
+     *
+     * @return 发送的数据包数量
+     */
+    public int flush(@NotNull SectionSender sender) {
+        if (pendingSections == 0) {
+            return 0;
+        }
+        int sent = 0;
+        for (Map.Entry<World, Map<Long, SectionBatch>> entry : dirty.entrySet()) {
+            final Map<Long, SectionBatch> sections = entry.getValue();
+            if (sections.isEmpty()) continue;
+            final List<Player> players = entry.getKey().getPlayers();
+            final int[] playerChunkX = new int[players.size()];
+            final int[] playerChunkZ = new int[players.size()];
+            final int[] viewDistance = new int[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                final Player player = players.get(i);
+                player.getLocation(scratch);
+                playerChunkX[i] = scratch.getBlockX() >> 4;
+                playerChunkZ[i] = scratch.getBlockZ() >> 4;
+                viewDistance[i] = player.getSendViewDistance();
+            }
+            for (SectionBatch batch : sections.values()) {
+                for (int i = 0; i < players.size(); i++) {
+                    if (Math.abs(batch.sectionX - playerChunkX[i]) <= viewDistance[i]
+                            && Math.abs(batch.sectionZ - playerChunkZ[i]) <= viewDistance[i]) {
+                        sender.send(players.get(i), batch.sectionX, batch.sectionY, batch.sectionZ, batch.positions, batch.states, batch.size);
+                        sent++;
+                    }
+                }
+                recycle(batch);
+            }
+            sections.clear();
+        }
+        pendingSections = 0;
+        return sent;
+    }
+
+    /**
+     * 丢弃本刻收集的所有变化。
+     */
+    public void clear() {
+        for (Map<Long, SectionBatch> sections : dirty.values()) {
+            sections.values().forEach(this::recycle);
+            sections.clear();
+        }
+        pendingSections = 0;
+    }
+
+    /**
+     * 移除世界的缓冲区，世界卸载时调用。
+     */
+    public void forget(@NotNull World world) {
+        final Map<Long, SectionBatch> sections = dirty.remove(world);
+        if (sections != null) {
+            pendingSections -= sections.size();
+            sections.values().forEach(this::recycle);
+        }
+    }
+
+    private void recycle(SectionBatch batch) {
+        // 大量区段同时变化后不保留全部缓冲区，池的大小有上限
+        if (pool.size() < MAX_POOLED) {
+            pool.push(batch);
+        }
+    }
+
+    private static long sectionKey(int sectionX, int sectionY, int sectionZ) {
+        return ((long) sectionX & 0x3FFFFFL) << 42 | ((long) sectionY & 0xFFFFFL) | ((long) sectionZ & 0x3FFFFFL) << 20;
+    }
+
+    /**
+     * 构建并发送一个区段的批量方块更新。
+     */
+    @FunctionalInterface
+    public interface SectionSender {
+
+        /**
+         * 数组只在回调期间有效，回调返回后会被复用。
+         *
+         * @param positions 区段内位置，按 {@code x << 8 | z << 4 | y} 打包（与原版区段方块更新包一致）
+         * @param states 对应位置的方块状态ID
+         * @param count 有效的变化数量
+         */
+        void send(@NotNull Player player, int sectionX, int sectionY, int sectionZ, short @NotNull [] positions, int @NotNull [] states, int count);
+    }
+
+    private static final class SectionBatch {
+
+        private final long[] present = new long[64];
+
+        private final short[] indexOf = new short[4096];
+
+        private short[] positions = new short[16];
+
+        private int[] states = new int[16];
+
+        private int size;
+
+        private int sectionX;
+
+        private int sectionY;
+
+        private int sectionZ;
+
+        private void reset(int sectionX, int sectionY, int sectionZ) {
+            this.sectionX = sectionX;
+            this.sectionY = sectionY;
+            this.sectionZ = sectionZ;
+            Arrays.fill(present, 0L);
+            size = 0;
+        }
+
+        private void put(short position, int state) {
+            final int bit = position & 0xFFF;
+            // indexOf只在present对应位被设置时有效，重置时无需清空
+            if ((present[bit >>> 6] & 1L << bit) != 0) {
+                states[indexOf[bit]] = state;
+                return;
+            }
+            present[bit >>> 6] |= 1L << bit;
+            indexOf[bit] = (short) size;
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                states = Arrays.copyOf(states, size * 2);
+            }
+            positions[size] = position;
+            states[size] = state;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.storage;
+
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropRegistry;
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropVisitor;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 一个区块内的自定义作物数据，按区段分片存储。
+ *
+ * <p>只有存在作物的区段才会分配 {@link CropSection}，区段中最后一个作物被移除时区段随之释放，
+ * 因此内存占用与被占用的区段数量成正比，而不是与作物数量或世界高度成正比。</p>
+ *
+ * <p>所有坐标都使用世界方块坐标，查询为O(1)且不会分配对象。</p>
+ *
+ * @apiNote 不保证线程安全
+ */
+@SuppressWarnings("unused")
+public final class CropChunk {
+
+    private final int minSectionY;
+
+    private final CropSection[] sections;
+
+    private int count;
+
+    /**
+     * @param minSectionY 世界最低区段的Y坐标（方块Y坐标右移4位）
+     * @param sectionCount 世界的区段数量
+     */
+    public CropChunk(int minSectionY, int sectionCount) {
+        this.minSectionY = minSectionY;
+        this.sections = new CropSection[sectionCount];
+    }
+
+    /**
+     * 计算区块在哈希表中使用的键。
+     */
+    public static long key(int chunkX, int chunkZ) {
+        return (long) chunkX & 0xFFFFFFFFL | ((long) chunkZ & 0xFFFFFFFFL) << 32;
+    }
+
+    /**
+     * @return 世界最低区段的Y坐标
+     */
+    public int getMinSectionY() {
+        return minSectionY;
+    }
+
+    /**
+     * @return 世界的区段数量
+     */
+    public int getSectionCount() {
+        return sections.length;
+    }
+
+    /**
+     * @param sectionY 区段Y坐标（方块Y坐标右移4位）
+     * @return 区段数据，如果区段内没有作物或超出世界高度返回null
+     */
+    public @Nullable CropSection getSection(int sectionY) {
+        final int i = sectionY - minSectionY;
+        return i < 0 || i >= sections.length ? null : sections[i];
+    }
+
+    /**
+     * @return 如果该位置有作物返回true，超出世界高度返回false
+     */
+    public boolean has(int x, int y, int z) {
+        final CropSection section = getSection(y >> 4);
+        return section != null && section.has(CropSection.index(x, y, z));
+    }
+
+    /**
+     * @return 作物数字ID，没有作物返回 {@link CropRegistry#NO_NUMERIC_ID}
+     */
+    public int getCropId(int x, int y, int z) {
+        final CropSection section = getSection(y >> 4);
+        return section == null ? CropRegistry.NO_NUMERIC_ID : section.getCropId(CropSection.index(x, y, z));
+    }
+
+    /**
+     * @return 生长阶段，没有作物返回-1
+     */
+    public int getStage(int x, int y, int z) {
+        final CropSection section = getSection(y >> 4);
+        return section == null ? -1 : section.getStage(CropSection.index(x, y, z));
+    }
+
+    /**
+     * @return 如果该位置原本为空返回true
+     * @throws IllegalArgumentException 如果坐标超出世界高度，或作物数字ID、生长阶段超出范围
+     */
+    public boolean set(int x, int y, int z, int cropId, int stage) {
+        final int i = (y >> 4) - minSectionY;
+        if (i < 0 || i >= sections.length) {
+            throw new IllegalArgumentException("y out of world height: " + y);
+        }
+        // 先校验参数再分配区段，避免被拒绝的写入留下空区段
+        CropSection.checkArguments(cropId, stage);
+        CropSection section = sections[i];
+        if (section == null) {
+            section = new CropSection();
+            sections[i] = section;
+        }
+        final boolean added = section.set(CropSection.index(x, y, z), cropId, stage);
+        if (added) count++;
+        return added;
+    }
+
+    /**
+     * @return 如果该位置存在作物返回true
+     */
+    public boolean setStage(int x, int y, int z, int stage) {
+        final CropSection section = getSection(y >> 4);
+        return section != null && section.setStage(CropSection.index(x, y, z), stage);
+    }
+
+    /**
+     * @return 如果该位置原本存在作物返回true
+     */
+    public boolean remove(int x, int y, int z) {
+        final int i = (y >> 4) - minSectionY;
+        if (i < 0 || i >= sections.length) return false;
+        final CropSection section = sections[i];
+        if (section == null || !section.remove(CropSection.index(x, y, z))) return false;
+        if (section.isEmpty()) sections[i] = null;
+        count--;
+        return true;
+    }
+
+    /**
+     * 遍历区块内的所有作物，只访问已分配的区段。
+     */
+    public void forEach(int chunkX, int chunkZ, CropVisitor visitor) {
+        if (count == 0) return;
+        for (int i = 0; i < sections.length; i++) {
+            final CropSection section = sections[i];
+            if (section != null) {
+                section.forEach(chunkX << 4, (minSectionY + i) << 4, chunkZ << 4, visitor);
+            }
+        }
+    }
+
+    /**
+     * 遍历区块内位于方块坐标范围（包含两端）内的作物，范围可以超出本区块。
+     */
+    public void forEach(int chunkX, int chunkZ, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, CropVisitor visitor) {
+        if (count == 0) return;
+        final int baseX = chunkX << 4, baseZ = chunkZ << 4;
+        final int fromX = Math.max(minX, baseX) - baseX, toX = Math.min(maxX, baseX + 15) - baseX;
+        final int fromZ = Math.max(minZ, baseZ) - baseZ, toZ = Math.min(maxZ, baseZ + 15) - baseZ;
+        if (fromX > toX || fromZ > toZ) return;
+        final int fromSection = Math.max(minY >> 4, minSectionY) - minSectionY;
+        final int toSection = Math.min(maxY >> 4, minSectionY + sections.length - 1) - minSectionY;
+        for (int i = fromSection; i <= toSection; i++) {
+            final CropSection section = sections[i];
+            if (section == null) continue;
+            final int baseY = (minSectionY + i) << 4;
+            section.forEach(baseX, baseY, baseZ,
+                    fromX, Math.max(minY, baseY) - baseY, fromZ,
+                    toX, Math.min(maxY, baseY + 15) - baseY, toZ,
+                    visitor);
+        }
+    }
+
+    /**
+     * @return 区块内的作物数量
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return 如果区块内没有作物返回true
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
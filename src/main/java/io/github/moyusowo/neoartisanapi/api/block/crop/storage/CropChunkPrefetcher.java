@@ -0,0 +1,197 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 在工作线程上预先读取并解码区块作物数据，再交给主线程发布。
+ *
+ * <p>区块开始加载时调用 {@link #prefetch(int, int, int, int)}，读取和解码在传入的 {@link Executor}
+ * （例如虚拟线程执行器）上进行；解码完成的区块进入无锁队列，主线程每刻调用 {@link #drain(ChunkConsumer)}
+ * 把它们发布到主线程的存储中，发布本身只是一次引用写入。</p>
+ *
+ * <p>如果主线程在解码完成之前就需要某个区块的数据，可以调用 {@link #await(int, int)}，
+ * 只会等待这一个区块，不会等待其他尚未完成的区块。等待超过时限时抛出 {@link TimeoutException}，
+ * 区块仍在读取中，结果之后由 {@link #drain(ChunkConsumer)} 发布；主线程从不读取文件，
+ * 阻塞时间不会超过时限。调用方在此期间应把该区块视为尚未就绪。</p>
+ *
+ * <p>读取通过 {@link CropRegionStore#readChunk(int, int, int, int)} 进行，区块有尚未写完的保存快照时直接返回快照，
+ * 区块卸载后很快重新加载时不会读到比快照更旧的数据，见 {@link CropRegionStore#writeChunksAsync(java.util.Map, Executor)}。</p>
+ *
+ * @apiNote 除 {@link #prefetch(int, int, int, int)} 外，其余方法都应只在主线程调用
+ */
+@SuppressWarnings("unused")
+public final class CropChunkPrefetcher {
+
+    /**
+     * {@link #await(int, int)} 等待工作线程的默认时限（毫秒）。
+     */
+    public static final long DEFAULT_AWAIT_MILLIS = 10;
+
+    private final CropRegionStore store;
+
+    private final Executor executor;
+
+    private final ConcurrentHashMap<Long, Request> pending = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Completed> completed = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param store 读取区块数据的区域文件存储
+     * @param executor 执行读取和解码的执行器
+     */
+    public CropChunkPrefetcher(@NotNull CropRegionStore store, @NotNull Executor executor) {
+        this.store = store;
+        this.executor = executor;
+    }
+
+    /**
+     * 开始异步读取区块数据，区块已在读取中时不做任何事。
+     *
+     * @param minSectionY 世界最低区段的Y坐标
+     * @param sectionCount 世界的区段数量
+     * @return 如果区块已登记为读取中返回true；执行器拒绝任务时返回false，区块不会登记，调用方应稍后重新预读
+     */
+    public boolean prefetch(int chunkX, int chunkZ, int minSectionY, int sectionCount) {
+        final long key = CropChunk.key(chunkX, chunkZ);
+        final Request request = new Request(new CompletableFuture<>());
+        if (pending.putIfAbsent(key, request) != null) {
+            return true;
+        }
+        final CompletableFuture<CropChunk> future = request.future();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(store.readChunk(chunkX, chunkZ, minSectionY, sectionCount));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    completed.add(new Completed(key, request));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 执行器已关闭或队列已满时撤销登记，避免 await 永远等待一个不会完成的结果
+            pending.remove(key, request);
+            future.completeExceptionally(e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return 如果区块已开始读取且结果尚未被取走或发布返回true
+     */
+    public boolean isPending(int chunkX, int chunkZ) {
+        return pending.containsKey(CropChunk.key(chunkX, chunkZ));
+    }
+
+    /**
+     * 以默认时限 {@link #DEFAULT_AWAIT_MILLIS} 等待单个区块。
+     *
+     * @see #await(int, int, long)
+     */
+    public @Nullable CropChunk await(int chunkX, int chunkZ) throws IOException, TimeoutException {
+        return await(chunkX, chunkZ, DEFAULT_AWAIT_MILLIS);
+    }
+
+    /**
+     * 等待单个区块解码完成并取走结果，之后 {@link #drain(ChunkConsumer)} 不会再发布该区块。
+     *
+     * <p>等待超时或被中断时不取走结果，区块保持读取中，完成后仍由 {@link #drain(ChunkConsumer)} 发布。</p>
+     *
+     * @param timeoutMillis 等待工作线程的时限（毫秒）
+     * @return 区块数据，如果区块没有保存过作物返回null
+     * @throws IllegalStateException 如果该区块不在读取中
+     * @throws IOException 如果读取或校验失败；等待被中断时抛出 {@link InterruptedIOException}
+     * @throws TimeoutException 如果在时限内没有完成，此时区块尚未就绪
+     */
+    public @Nullable CropChunk await(int chunkX, int chunkZ, long timeoutMillis) throws IOException, TimeoutException {
+        final long key = CropChunk.key(chunkX, chunkZ);
+        final Request request = pending.get(key);
+        if (request == null) {
+            throw new IllegalStateException("chunk " + chunkX + ", " + chunkZ + " is not being prefetched");
+        }
+        final CropChunk chunk;
+        try {
+            chunk = request.future().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for chunk " + chunkX + ", " + chunkZ);
+        } catch (ExecutionException e) {
+            pending.remove(key, request);
+            if (e.getCause() instanceof IOException io) throw io;
+            throw new CompletionException(e.getCause());
+        }
+        pending.remove(key, request);
+        return chunk;
+    }
+
+    /**
+     * 取消区块的读取，通常在区块解码完成之前被卸载时调用，结果会被丢弃。
+     */
+    public void cancel(int chunkX, int chunkZ) {
+        pending.remove(CropChunk.key(chunkX, chunkZ));
+    }
+
+    /**
+     * 发布所有已完成的区块。
+     *
+     * @return 发布的区块数量
+     */
+    public int drain(@NotNull ChunkConsumer consumer) {
+        int published = 0;
+        Completed done;
+        while ((done = completed.poll()) != null) {
+            final CompletableFuture<CropChunk> future = done.request().future();
+            if (!pending.remove(done.key(), done.request())) {
+                continue;
+            }
+            final int chunkX = (int) done.key(), chunkZ = (int) (done.key() >>> 32);
+            try {
+                consumer.accept(chunkX, chunkZ, future.join(), null);
+            } catch (CompletionException e) {
+                consumer.accept(chunkX, chunkZ, null, e.getCause());
+            }
+            published++;
+        }
+        return published;
+    }
+
+    /**
+     * @return 已开始读取且结果尚未被取走或发布的区块数量
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private record Request(CompletableFuture<CropChunk> future) {
+    }
+
+    private record Completed(long key, Request request) {
+    }
+
+    /**
+     * 接收解码完成的区块。
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /**
+         * @param chunk 区块数据，区块没有保存过作物或读取失败时为null
+         * @param error 读取失败的原因，成功时为null
+         */
+        void accept(int chunkX, int chunkZ, @Nullable CropChunk chunk, @Nullable Throwable error);
+    }
+}
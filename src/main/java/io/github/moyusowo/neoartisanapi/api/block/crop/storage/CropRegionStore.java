@@ -0,0 +1,678 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.storage;
+
+import io.github.moyusowo.neoartisanapi.api.block.crop.ArtisanCrop;
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropRegistry;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * 一个世界的自定义作物区域文件存储。
+ *
+ * <p>每个区域文件保存32x32个区块的作物数据。文件按4KiB扇区划分，文件头记录每个区块数据的起始扇区、长度和CRC32校验值，
+ * 区块数据只保存被占用的位置，大小与作物数量成正比。作物以区块内的注册ID调色板下标保存，
+ * 不依赖只在本次运行期间有效的数字ID，作物注册顺序变化后仍能正确读回；已被移除的作物在读取时被丢弃。</p>
+ *
+ * <p>保存区块时只把变化区块的数据写入空闲扇区，不会重写整个区域文件：同一区域的一批区块先写入数据并落盘一次，
+ * 再整体写入文件头并落盘一次，最后才释放旧数据占用的扇区。写入中断时文件头仍指向完整的旧数据。
+ * 文件头的每一项按16字节对齐，不会跨越磁盘页。</p>
+ *
+ * <p>读写按区域加锁，不同区域的读写互不阻塞，同一区域的多个读取也可以并行。区域文件在全局监视器之外打开，
+ * 打开同一区域的其他线程只等待这一次打开。打开的区域文件数量有上限，超出时关闭最久未使用的区域。无法解析的区域文件在保存时会被改名保留并记录日志，随后按空区域继续写入。</p>
+ *
+ * <p>推荐的保存方式是在主线程调用 {@link #encode(CropChunk)} 为脏区块生成快照，
+ * 再在主线程把快照交给 {@link #writeChunksAsync(Map, Executor)}，主线程只承担变化区块的编码开销。
+ * 快照在写入完成之前登记在存储中，期间读取这些区块（包括 {@link CropChunkPrefetcher} 的预读）直接返回快照，
+ * 区块卸载后很快重新加载时不会读到磁盘上的旧数据；同一区块的旧快照在更新的快照登记后不再写入，
+ * 不会覆盖更新的数据。</p>
+ *
+ * @apiNote 本类的读写方法可以在任意线程调用；{@link CropChunk} 本身不是线程安全的，编码应在修改它的线程进行
+ */
+@SuppressWarnings("unused")
+public final class CropRegionStore implements Closeable {
+
+    private static final int MAGIC = 0x4E414352;
+
+    private static final int VERSION = 2;
+
+    private static final int REGION_CHUNKS = 32 * 32;
+
+    private static final int SECTOR_SIZE = 4096;
+
+    private static final int ENTRY_SIZE = 16;
+
+    private static final int HEADER_SIZE = ENTRY_SIZE + REGION_CHUNKS * ENTRY_SIZE;
+
+    private static final int HEADER_SECTORS = (HEADER_SIZE + SECTOR_SIZE - 1) / SECTOR_SIZE;
+
+    private static final int MAX_PALETTE_SIZE = 0xFFFF;
+
+    private static final int DEFAULT_MAX_OPEN_REGIONS = 64;
+
+    private static final String EXTENSION = ".nacrop";
+
+    private final Path directory;
+
+    private final Logger logger;
+
+    private final int maxOpenRegions;
+
+    private final LinkedHashMap<Long, Region> regions = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Long, CompletableFuture<Region>> opening = new HashMap<>();
+
+    private final ConcurrentHashMap<Long, byte[]> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory 区域文件目录，通常位于世界文件夹内
+     */
+    public CropRegionStore(@NotNull Path directory) {
+        this(directory, Logger.getLogger(CropRegionStore.class.getName()), DEFAULT_MAX_OPEN_REGIONS);
+    }
+
+    /**
+     * @param directory 区域文件目录，通常位于世界文件夹内
+     * @param logger 记录损坏区域文件的日志
+     * @param maxOpenRegions 同时打开的区域文件数量上限
+     */
+    public CropRegionStore(@NotNull Path directory, @NotNull Logger logger, int maxOpenRegions) {
+        if (maxOpenRegions < 1) {
+            throw new IllegalArgumentException("maxOpenRegions must be positive: " + maxOpenRegions);
+        }
+        this.directory = directory;
+        this.logger = logger;
+        this.maxOpenRegions = maxOpenRegions;
+    }
+
+    /**
+     * @return 存放区域文件的目录
+     */
+    public @NotNull Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return 区域坐标对应的区域文件路径，文件不一定存在
+     */
+    public @NotNull Path getRegionFile(int regionX, int regionZ) {
+        return directory.resolve("r." + regionX + "." + regionZ + EXTENSION);
+    }
+
+    /**
+     * 使用当前的作物注册表编码区块的作物数据快照。
+     *
+     * @return 编码后的字节，区块为空时返回空数组
+     * @throws IllegalArgumentException 如果区块中存在未注册的作物数字ID
+     * @see #encode(CropChunk, IntFunction)
+     */
+    public static byte @NotNull [] encode(@NotNull CropChunk chunk) {
+        final CropRegistry registry = CropRegistry.getCropRegistryManager();
+        return encode(chunk, cropId -> {
+            final ArtisanCrop crop = registry.getArtisanCrop(cropId);
+            return crop == null ? null : crop.getCropId();
+        });
+    }
+
+    /**
+     * 编码区块的作物数据快照。
+     *
+     * <p>区块中出现的作物注册ID写入调色板，每个位置只保存调色板下标。</p>
+     *
+     * @param keyOf 把作物数字ID映射为注册ID，未注册时返回null
+     * @return 编码后的字节，区块为空时返回空数组
+     * @throws IllegalArgumentException 如果区块中存在未注册的作物数字ID，或不同作物的数量超出调色板上限
+     */
+    public static byte @NotNull [] encode(@NotNull CropChunk chunk, @NotNull IntFunction<@Nullable NamespacedKey> keyOf) {
+        if (chunk.isEmpty()) {
+            return new byte[0];
+        }
+        final Map<Integer, Integer> palette = new HashMap<>();
+        final List<byte[]> paletteKeys = new ArrayList<>();
+        int sectionCount = 0;
+        int size = 4 + 4 + 2 + 2;
+        for (int i = 0; i < chunk.getSectionCount(); i++) {
+            final CropSection section = chunk.getSection(chunk.getMinSectionY() + i);
+            if (section == null) continue;
+            sectionCount++;
+            size += 4 + section.size() * 5;
+            section.forEach(0, 0, 0, (x, y, z, cropId, stage) -> palette.computeIfAbsent(cropId, id -> {
+                final NamespacedKey key = keyOf.apply(id);
+                if (key == null) {
+                    throw new IllegalArgumentException("crop numeric id is not registered: " + id);
+                }
+                if (paletteKeys.size() >= MAX_PALETTE_SIZE) {
+                    throw new IllegalArgumentException("too many distinct crops in one chunk: " + paletteKeys.size());
+                }
+                paletteKeys.add(key.asString().getBytes(StandardCharsets.UTF_8));
+                return paletteKeys.size() - 1;
+            }));
+        }
+        for (byte[] key : paletteKeys) {
+            size += 2 + key.length;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(chunk.getMinSectionY()).putInt(chunk.getSectionCount()).putShort((short) paletteKeys.size());
+        for (byte[] key : paletteKeys) {
+            buffer.putShort((short) key.length).put(key);
+        }
+        buffer.putShort((short) sectionCount);
+        for (int i = 0; i < chunk.getSectionCount(); i++) {
+            final CropSection section = chunk.getSection(chunk.getMinSectionY() + i);
+            if (section == null) continue;
+            buffer.putShort((short) i).putShort((short) section.size());
+            section.forEach(0, 0, 0, (x, y, z, cropId, stage) ->
+                    buffer.putShort((short) CropSection.index(x, y, z)).putShort(palette.get(cropId).shortValue()).put((byte) stage));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 使用当前的作物注册表解码区块的作物数据。
+     *
+     * @see #decode(ByteBuffer, int, int, ToIntFunction)
+     */
+    public static @NotNull CropChunk decode(@NotNull ByteBuffer data, int minSectionY, int sectionCount) throws IOException {
+        final CropRegistry registry = CropRegistry.getCropRegistryManager();
+        return decode(data, minSectionY, sectionCount, registry::getNumericId);
+    }
+
+    /**
+     * 解码区块的作物数据。
+     *
+     * <p>如果世界高度与编码时不同，超出当前世界高度的作物会被丢弃；调色板中已不再注册的作物也会被丢弃。</p>
+     *
+     * @param minSectionY 当前世界最低区段的Y坐标
+     * @param sectionCount 当前世界的区段数量
+     * @param idOf 把作物注册ID映射为当前的数字ID，未注册时返回 {@link CropRegistry#NO_NUMERIC_ID}
+     * @throws IOException 如果数据格式不正确
+     */
+    public static @NotNull CropChunk decode(@NotNull ByteBuffer data, int minSectionY, int sectionCount, @NotNull ToIntFunction<NamespacedKey> idOf) throws IOException {
+        final CropChunk chunk = new CropChunk(minSectionY, sectionCount);
+        if (!data.hasRemaining()) {
+            return chunk;
+        }
+        try {
+            final ByteBuffer buffer = data.slice().order(ByteOrder.BIG_ENDIAN);
+            final int storedMinSectionY = buffer.getInt();
+            final int storedSectionCount = buffer.getInt();
+            final int[] palette = new int[buffer.getShort() & 0xFFFF];
+            for (int p = 0; p < palette.length; p++) {
+                final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                final NamespacedKey key = NamespacedKey.fromString(new String(bytes, StandardCharsets.UTF_8));
+                if (key == null) {
+                    throw new IOException("invalid crop key in palette");
+                }
+                palette[p] = idOf.applyAsInt(key);
+            }
+            final int sections = buffer.getShort() & 0xFFFF;
+            for (int s = 0; s < sections; s++) {
+                final int sectionIndex = buffer.getShort() & 0xFFFF;
+                final int count = buffer.getShort() & 0xFFFF;
+                if (sectionIndex >= storedSectionCount) {
+                    throw new IOException("invalid section index " + sectionIndex);
+                }
+                final int sectionY = storedMinSectionY + sectionIndex;
+                final boolean inWorld = sectionY >= minSectionY && sectionY < minSectionY + sectionCount;
+                for (int e = 0; e < count; e++) {
+                    final int index = buffer.getShort() & 0xFFFF;
+                    final int paletteIndex = buffer.getShort() & 0xFFFF;
+                    final int stage = buffer.get() & 0xFF;
+                    if (index >= CropSection.SIZE || paletteIndex >= palette.length) {
+                        throw new IOException("invalid crop entry in section " + sectionIndex);
+                    }
+                    final int cropId = palette[paletteIndex];
+                    if (inWorld && cropId != CropRegistry.NO_NUMERIC_ID) {
+                        chunk.set(CropSection.localX(index), (sectionY << 4) + CropSection.localY(index), CropSection.localZ(index), cropId, stage);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("corrupted crop chunk data", e);
+        }
+        return chunk;
+    }
+
+    /**
+     * 读取区块的作物数据。
+     *
+     * <p>只锁定区块所在的区域，不会等待其他区域的写入。区块有尚未写完的快照时直接解码快照，不读取文件。</p>
+     *
+     * @param minSectionY 当前世界最低区段的Y坐标
+     * @param sectionCount 当前世界的区段数量
+     * @return 区块数据，如果区块没有保存过作物返回null
+     * @throws IOException 如果读取失败、区域文件无法解析或校验值不匹配
+     */
+    public @Nullable CropChunk readChunk(int chunkX, int chunkZ, int minSectionY, int sectionCount) throws IOException {
+        final CropRegistry registry = CropRegistry.getCropRegistryManager();
+        return readChunk(chunkX, chunkZ, minSectionY, sectionCount, registry::getNumericId);
+    }
+
+    /**
+     * 读取区块的作物数据，并用给定的映射解析调色板。
+     *
+     * @param idOf 把作物注册ID映射为当前的数字ID，未注册时返回 {@link CropRegistry#NO_NUMERIC_ID}
+     * @see #readChunk(int, int, int, int)
+     */
+    public @Nullable CropChunk readChunk(int chunkX, int chunkZ, int minSectionY, int sectionCount, @NotNull ToIntFunction<NamespacedKey> idOf) throws IOException {
+        final byte[] pendingWrite = pendingWrites.get(CropChunk.key(chunkX, chunkZ));
+        if (pendingWrite != null) {
+            return pendingWrite.length == 0 ? null : decode(ByteBuffer.wrap(pendingWrite), minSectionY, sectionCount, idOf);
+        }
+        final Region region = acquire(chunkX >> 5, chunkZ >> 5, false);
+        if (region == null) {
+            return null;
+        }
+        final ByteBuffer payload;
+        try {
+            payload = region.read(slot(chunkX, chunkZ));
+        } finally {
+            release(region);
+        }
+        return payload == null ? null : decode(payload, minSectionY, sectionCount, idOf);
+    }
+
+    /**
+     * 写入一批区块的编码数据。
+     *
+     * <p>同一区域的区块合并为一次扇区写入和一次文件头更新，未包含在本批中的区块保持原样。</p>
+     *
+     * @param encodedChunks 以 {@link CropChunk#key(int, int)} 为键的编码数据，空数组表示删除该区块的数据
+     * @throws IOException 如果写入失败，失败的区域中已保存的数据保持写入前的状态
+     */
+    public void writeChunks(@NotNull Map<Long, byte[]> encodedChunks) throws IOException {
+        writeChunks(encodedChunks, false);
+    }
+
+    /**
+     * 登记一批区块快照并在执行器上写入。
+     *
+     * <p>应在生成快照的线程（通常是主线程）调用，快照在本方法返回之前登记，之后的 {@link #readChunk(int, int, int, int)}
+     * 返回快照内容，直到写入结束。写入时跳过已被更新快照取代的区块；写入失败时快照同样被撤销，
+     * 读取回到文件中的数据，调用方应保留这些区块的脏标记以便重试。</p>
+     *
+     * @param encodedChunks 以 {@link CropChunk#key(int, int)} 为键的编码数据，空数组表示删除该区块的数据；调用后不应再修改
+     * @param executor 执行写入的执行器
+     * @return 写入完成的结果，失败时以 {@link IOException} 异常完成
+     * @throws RejectedExecutionException 如果执行器拒绝任务，此时快照不会被登记
+     */
+    public @NotNull CompletableFuture<Void> writeChunksAsync(@NotNull Map<Long, byte[]> encodedChunks, @NotNull Executor executor) {
+        final Map<Long, byte[]> snapshots = Map.copyOf(encodedChunks);
+        pendingWrites.putAll(snapshots);
+        try {
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    writeChunks(snapshots, true);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    snapshots.forEach(pendingWrites::remove);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            snapshots.forEach(pendingWrites::remove);
+            throw e;
+        }
+    }
+
+    private void writeChunks(Map<Long, byte[]> encodedChunks, boolean latestOnly) throws IOException {
+        final Map<Long, Map<Long, byte[]>> byRegion = new HashMap<>();
+        for (Map.Entry<Long, byte[]> entry : encodedChunks.entrySet()) {
+            final long key = entry.getKey();
+            final int chunkX = (int) key, chunkZ = (int) (key >>> 32);
+            byRegion.computeIfAbsent(CropChunk.key(chunkX >> 5, chunkZ >> 5), k -> new HashMap<>()).put(key, entry.getValue());
+        }
+        for (Map.Entry<Long, Map<Long, byte[]>> entry : byRegion.entrySet()) {
+            final long regionKey = entry.getKey();
+            final Region region = acquire((int) regionKey, (int) (regionKey >>> 32), true);
+            region.lock.writeLock().lock();
+            try {
+                // 在区域写锁内判断快照是否仍是最新，与登记更新快照的写入按锁的顺序排列
+                final Map<Integer, byte[]> changed = new HashMap<>();
+                for (Map.Entry<Long, byte[]> chunk : entry.getValue().entrySet()) {
+                    if (latestOnly && pendingWrites.get(chunk.getKey()) != chunk.getValue()) continue;
+                    final long key = chunk.getKey();
+                    changed.put(slot((int) key, (int) (key >>> 32)), chunk.getValue());
+                }
+                if (!changed.isEmpty()) {
+                    region.write(changed);
+                }
+            } finally {
+                region.lock.writeLock().unlock();
+                release(region);
+            }
+        }
+    }
+
+    /**
+     * 关闭所有打开的区域文件。之后的读写会重新打开区域文件。
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (regions) {
+            IOException failure = null;
+            for (Region region : regions.values()) {
+                try {
+                    region.channel.close();
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                }
+            }
+            regions.clear();
+            if (failure != null) throw failure;
+        }
+    }
+
+    private @Nullable Region acquire(int regionX, int regionZ, boolean create) throws IOException {
+        final long key = CropChunk.key(regionX, regionZ);
+        while (true) {
+            final CompletableFuture<Region> opened;
+            final boolean owner;
+            synchronized (regions) {
+                final Region region = regions.get(key);
+                if (region != null) {
+                    region.users++;
+                    return region;
+                }
+                final CompletableFuture<Region> inFlight = opening.get(key);
+                owner = inFlight == null;
+                opened = owner ? new CompletableFuture<>() : inFlight;
+                if (owner) {
+                    opening.put(key, opened);
+                }
+            }
+            if (!owner) {
+                // 只等待同一区域的打开，完成后重新查找；打开失败或只读打开未找到文件时由本线程重新尝试
+                opened.handle((region, failure) -> null).join();
+                continue;
+            }
+            // 打开、创建和移走损坏文件都在监视器之外进行，不会阻塞其他区域的读写
+            final Region region;
+            try {
+                region = open(getRegionFile(regionX, regionZ), create);
+            } catch (IOException | RuntimeException e) {
+                synchronized (regions) {
+                    opening.remove(key);
+                }
+                opened.completeExceptionally(e);
+                throw e;
+            }
+            synchronized (regions) {
+                opening.remove(key);
+                if (region != null) {
+                    region.users++;
+                    regions.put(key, region);
+                    evict();
+                }
+            }
+            opened.complete(region);
+            return region;
+        }
+    }
+
+    private void release(Region region) {
+        synchronized (regions) {
+            region.users--;
+            evict();
+        }
+    }
+
+    private void evict() {
+        final Iterator<Region> iterator = regions.values().iterator();
+        int excess = regions.size() - maxOpenRegions;
+        while (excess > 0 && iterator.hasNext()) {
+            final Region region = iterator.next();
+            if (region.users > 0) continue;
+            iterator.remove();
+            excess--;
+            try {
+                region.channel.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close crop region file " + region.file, e);
+            }
+        }
+    }
+
+    private @Nullable Region open(Path file, boolean create) throws IOException {
+        if (!Files.exists(file)) {
+            if (!create) return null;
+            Files.createDirectories(directory);
+            return Region.create(file);
+        }
+        try {
+            return Region.open(file, logger);
+        } catch (IOException e) {
+            if (!create) throw e;
+            // 损坏的区域文件改名保留以便人工恢复，然后按空区域继续保存，避免之后的保存永远失败
+            final Path aside = file.resolveSibling(file.getFileName() + ".corrupt-" + System.currentTimeMillis());
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+            logger.log(Level.WARNING, "Unreadable crop region file " + file + " moved to " + aside + ", continuing with an empty region", e);
+            return Region.create(file);
+        }
+    }
+
+    private static int slot(int chunkX, int chunkZ) {
+        return (chunkX & 31) | (chunkZ & 31) << 5;
+    }
+
+    private static int sectorsFor(int length) {
+        return (length + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    }
+
+    private static final class Region {
+
+        private final Path file;
+
+        private final FileChannel channel;
+
+        private final int[] sectors = new int[REGION_CHUNKS];
+
+        private final int[] lengths = new int[REGION_CHUNKS];
+
+        private final int[] checksums = new int[REGION_CHUNKS];
+
+        private final BitSet used = new BitSet();
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private int users;
+
+        private Region(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+            used.set(0, HEADER_SECTORS);
+        }
+
+        static Region create(Path file) throws IOException {
+            final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SECTORS * SECTOR_SIZE).order(ByteOrder.BIG_ENDIAN);
+                header.putInt(0, MAGIC).putInt(4, VERSION);
+                writeFully(channel, header, 0);
+                channel.force(true);
+                return new Region(file, channel);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        static Region open(Path file, Logger logger) throws IOException {
+            final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                final long size = channel.size();
+                if (size < (long) HEADER_SECTORS * SECTOR_SIZE) {
+                    throw new IOException("truncated crop region file " + file);
+                }
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+                readFully(channel, header, 0);
+                header.flip();
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("unsupported crop region file " + file);
+                }
+                final Region region = new Region(file, channel);
+                for (int slot = 0; slot < REGION_CHUNKS; slot++) {
+                    final int entry = ENTRY_SIZE + slot * ENTRY_SIZE;
+                    final int sector = header.getInt(entry);
+                    final int length = header.getInt(entry + 4);
+                    if (length == 0) continue;
+                    final int count = length < 0 ? 0 : sectorsFor(length);
+                    if (length < 0 || sector < HEADER_SECTORS || (long) sector * SECTOR_SIZE + length > size
+                            || region.used.nextSetBit(sector) != -1 && region.used.nextSetBit(sector) < sector + count) {
+                        // 单个无效条目按空区块处理，下次写入文件头时被清除
+                        logger.warning("Invalid crop chunk entry at slot " + slot + " in " + file + ", treating it as empty");
+                        continue;
+                    }
+                    region.sectors[slot] = sector;
+                    region.lengths[slot] = length;
+                    region.checksums[slot] = header.getInt(entry + 8);
+                    region.used.set(sector, sector + count);
+                }
+                return region;
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e instanceof IOException io ? io : new IOException("corrupted crop region file " + file, e);
+            }
+        }
+
+        @Nullable ByteBuffer read(int slot) throws IOException {
+            lock.readLock().lock();
+            try {
+                final int length = lengths[slot];
+                if (length == 0) {
+                    return null;
+                }
+                final ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(channel, payload, (long) sectors[slot] * SECTOR_SIZE);
+                payload.flip();
+                final CRC32 crc = new CRC32();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksums[slot]) {
+                    throw new IOException("crop chunk checksum mismatch at slot " + slot + " in " + file);
+                }
+                return payload;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void write(Map<Integer, byte[]> changed) throws IOException {
+            lock.writeLock().lock();
+            try {
+                final int[] newSectors = sectors.clone();
+                final int[] newLengths = lengths.clone();
+                final int[] newChecksums = checksums.clone();
+                final BitSet allocated = new BitSet();
+                boolean headerTouched = false;
+                try {
+                    final CRC32 crc = new CRC32();
+                    for (Map.Entry<Integer, byte[]> entry : changed.entrySet()) {
+                        final int slot = entry.getKey();
+                        final byte[] data = entry.getValue();
+                        if (data.length == 0) {
+                            newSectors[slot] = 0;
+                            newLengths[slot] = 0;
+                            newChecksums[slot] = 0;
+                            continue;
+                        }
+                        // 新数据总是写入空闲扇区，旧数据在文件头更新之前保持完整
+                        final int start = allocate(sectorsFor(data.length));
+                        allocated.set(start, start + sectorsFor(data.length));
+                        writeFully(channel, ByteBuffer.wrap(data), (long) start * SECTOR_SIZE);
+                        crc.reset();
+                        crc.update(data);
+                        newSectors[slot] = start;
+                        newLengths[slot] = data.length;
+                        newChecksums[slot] = (int) crc.getValue();
+                    }
+                    channel.force(false);
+                    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+                    header.putInt(MAGIC).putInt(VERSION).putLong(0);
+                    for (int slot = 0; slot < REGION_CHUNKS; slot++) {
+                        header.putInt(newSectors[slot]).putInt(newLengths[slot]).putInt(newChecksums[slot]).putInt(0);
+                    }
+                    header.flip();
+                    headerTouched = true;
+                    writeFully(channel, header, 0);
+                    channel.force(false);
+                } catch (IOException | RuntimeException e) {
+                    // 文件头可能已部分写入时保留新分配的扇区，避免之后覆盖被新条目引用的数据
+                    if (!headerTouched) {
+                        used.andNot(allocated);
+                    }
+                    throw e;
+                }
+                for (int slot : changed.keySet()) {
+                    if (lengths[slot] != 0) {
+                        used.clear(sectors[slot], sectors[slot] + sectorsFor(lengths[slot]));
+                    }
+                }
+                System.arraycopy(newSectors, 0, sectors, 0, REGION_CHUNKS);
+                System.arraycopy(newLengths, 0, lengths, 0, REGION_CHUNKS);
+                System.arraycopy(newChecksums, 0, checksums, 0, REGION_CHUNKS);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int allocate(int count) {
+            int start = HEADER_SECTORS;
+            while (true) {
+                start = used.nextClearBit(start);
+                final int end = used.nextSetBit(start);
+                if (end < 0 || end - start >= count) {
+                    used.set(start, start + count);
+                    return start;
+                }
+                start = end;
+            }
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("unexpected end of crop region file");
+            }
+            position += read;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.storage;
+
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropRegistry;
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropVisitor;
+
+/**
+ * 一个16x16x16区段内的自定义作物数据。
+ *
+ * <p>每个位置用一个 {@code short} 保存作物数字ID（加1，0表示空），用一个 {@code byte} 保存生长阶段，
+ * 读写均为数组下标访问，不会分配对象。作物数字ID是连续分配的，因此直接充当区段调色板的下标。</p>
+ *
+ * <p>位置下标由 {@link #index(int, int, int)} 计算。区段同时维护一份占用位图，
+ * 遍历时按64位字跳过空位置，开销与作物数量成正比。</p>
+ *
+ * @apiNote 不保证线程安全
+ */
+@SuppressWarnings("unused")
+public final class CropSection {
+
+    public static final int SIZE = 16 * 16 * 16;
+
+    public static final int MAX_STAGE = 0xFF;
+
+    private final short[] crops = new short[SIZE];
+
+    private final byte[] stages = new byte[SIZE];
+
+    private final long[] occupied = new long[SIZE / Long.SIZE];
+
+    private int count;
+
+    /**
+     * 计算区段内的位置下标，只使用各坐标的低4位，可以直接传入世界坐标。
+     */
+    public static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    /**
+     * @return 位置下标中的区段内X坐标（0到15）
+     */
+    public static int localX(int index) {
+        return index & 15;
+    }
+
+    /**
+     * @return 位置下标中的区段内Y坐标（0到15）
+     */
+    public static int localY(int index) {
+        return index >>> 8;
+    }
+
+    /**
+     * @return 位置下标中的区段内Z坐标（0到15）
+     */
+    public static int localZ(int index) {
+        return (index >>> 4) & 15;
+    }
+
+    /**
+     * @param index 由 {@link #index(int, int, int)} 计算的位置下标
+     * @return 如果该位置有作物返回true
+     */
+    public boolean has(int index) {
+        return crops[index] != 0;
+    }
+
+    /**
+     * @return 作物数字ID，空位置返回 {@link CropRegistry#NO_NUMERIC_ID}
+     */
+    public int getCropId(int index) {
+        return crops[index] - 1;
+    }
+
+    /**
+     * @return 生长阶段，空位置返回-1
+     */
+    public int getStage(int index) {
+        return crops[index] == 0 ? -1 : stages[index] & 0xFF;
+    }
+
+    /**
+     * 设置位置上的作物与生长阶段。
+     *
+     * @return 如果该位置原本为空返回true
+     * @throws IllegalArgumentException 如果作物数字ID或生长阶段超出范围
+     */
+    public boolean set(int index, int cropId, int stage) {
+        checkArguments(cropId, stage);
+        final boolean added = crops[index] == 0;
+        crops[index] = (short) (cropId + 1);
+        stages[index] = (byte) stage;
+        if (added) {
+            occupied[index >>> 6] |= 1L << index;
+            count++;
+        }
+        return added;
+    }
+
+    static void checkArguments(int cropId, int stage) {
+        if (cropId < 0 || cropId >= Short.MAX_VALUE) {
+            throw new IllegalArgumentException("crop numeric id out of range: " + cropId);
+        }
+        if (stage < 0 || stage > MAX_STAGE) {
+            throw new IllegalArgumentException("crop stage out of range: " + stage);
+        }
+    }
+
+    /**
+     * 只更新已有作物的生长阶段。
+     *
+     * @return 如果该位置存在作物返回true
+     */
+    public boolean setStage(int index, int stage) {
+        if (stage < 0 || stage > MAX_STAGE) {
+            throw new IllegalArgumentException("crop stage out of range: " + stage);
+        }
+        if (crops[index] == 0) return false;
+        stages[index] = (byte) stage;
+        return true;
+    }
+
+    /**
+     * @return 如果该位置原本存在作物返回true
+     */
+    public boolean remove(int index) {
+        if (crops[index] == 0) return false;
+        crops[index] = 0;
+        stages[index] = 0;
+        occupied[index >>> 6] &= ~(1L << index);
+        count--;
+        return true;
+    }
+
+    /**
+     * 遍历区段内的所有作物。
+     *
+     * @param baseX 区段最小方块X坐标
+     * @param baseY 区段最小方块Y坐标
+     * @param baseZ 区段最小方块Z坐标
+     */
+    public void forEach(int baseX, int baseY, int baseZ, CropVisitor visitor) {
+        for (int word = 0; word < occupied.length; word++) {
+            long bits = occupied[word];
+            while (bits != 0) {
+                final int index = word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                visitor.visit(baseX + localX(index), baseY + localY(index), baseZ + localZ(index), crops[index] - 1, stages[index] & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * 遍历区段内位于局部坐标范围（包含两端）内的作物。
+     *
+     * @param baseX 区段最小方块X坐标
+     * @param baseY 区段最小方块Y坐标
+     * @param baseZ 区段最小方块Z坐标
+     */
+    public void forEach(int baseX, int baseY, int baseZ, int minLocalX, int minLocalY, int minLocalZ, int maxLocalX, int maxLocalY, int maxLocalZ, CropVisitor visitor) {
+        if (minLocalX == 0 && minLocalY == 0 && minLocalZ == 0 && maxLocalX == 15 && maxLocalY == 15 && maxLocalZ == 15) {
+            forEach(baseX, baseY, baseZ, visitor);
+            return;
+        }
+        for (int word = minLocalY << 2; word < (maxLocalY + 1) << 2; word++) {
+            long bits = occupied[word];
+            while (bits != 0) {
+                final int index = word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                final int lx = localX(index), lz = localZ(index);
+                if (lx < minLocalX || lx > maxLocalX || lz < minLocalZ || lz > maxLocalZ) continue;
+                visitor.visit(baseX + lx, baseY + localY(index), baseZ + lz, crops[index] - 1, stages[index] & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * @return 区段内的作物数量
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return 如果区段内没有作物返回true
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+}
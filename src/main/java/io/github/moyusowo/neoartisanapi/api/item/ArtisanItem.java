@@ -1,11 +1,17 @@
 package io.github.moyusowo.neoartisanapi.api.item;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.CRC32C;
+
 /**
  * 自定义物品核心接口，提供对自定义物品属性和特性的访问。
  *
@@ -44,6 +50,69 @@ public interface ArtisanItem {
      */
     @NotNull NamespacedKey getRegistryId();
 
+    /**
+     * 获取此自定义物品的数字ID。
+     *
+     * <p>数字ID在注册时分配，从0开始连续递增，可直接用作数组下标。
+     * 数字ID与注册ID的对应关系由实现持久化保存，服务器重启后保持不变。</p>
+     *
+     * @return 数字ID（不小于0）
+     * @see ItemRegistry#getArtisanItem(int)
+     */
+    int getNumericId();
+
+    /**
+     * 获取此自定义物品定义的修订号。
+     *
+     * <p>修订号是由定义决定的物品堆组件（物品名、描述、自定义模型数据和属性修饰符）的哈希，
+     * 由 {@link #computeRevision(Component, List, Integer, WeaponProperty, ArmorProperty)} 计算，
+     * 不依赖任何内存中的计数器，因此相同的定义在服务器重启后得到相同的修订号，重启前创建的物品堆不会被误判为过期。
+     * 创建物品堆时修订号会与注册ID一起写入物品堆，之后只需一次整数比较即可判断物品堆是否仍是按当前定义构建的。</p>
+     *
+     * <p>修订号只表示定义是否相同，不表示先后，比较时只能使用 {@code !=}，不能比较大小。</p>
+     *
+     * @return 定义修订号（大于0）
+     * @see ItemInspector#isStale(ItemStack)
+     * @see ItemRegistry#migrate(ItemStack)
+     */
+    int getRevision();
+
+    /**
+     * 按由定义决定的物品堆组件计算定义修订号。
+     *
+     * <p>各组件先转换为与运行环境无关的规范文本（文本组件使用JSON序列化），再计算CRC32C，
+     * 因此结果只取决于组件内容，在不同的进程之间保持稳定。结果总是大于0，
+     * {@code 0} 保留给修订号功能加入之前创建、没有写入修订号的物品堆。</p>
+     *
+     * @param displayName 物品名（可为null）
+     * @param lore 描述（不能为null）
+     * @param customModelData 自定义模型数据（可为null）
+     * @param weaponProperty 武器属性（不能为null）
+     * @param armorProperty 护甲属性（不能为null）
+     * @return 定义修订号（大于0）
+     */
+    static int computeRevision(@Nullable Component displayName, @NotNull List<Component> lore, @Nullable Integer customModelData,
+                               @NotNull WeaponProperty weaponProperty, @NotNull ArmorProperty armorProperty) {
+        final GsonComponentSerializer serializer = GsonComponentSerializer.gson();
+        final StringBuilder canonical = new StringBuilder();
+        canonical.append(displayName == null ? "null" : serializer.serialize(displayName)).append('\n');
+        canonical.append(lore.size()).append('\n');
+        for (Component line : lore) {
+            canonical.append(serializer.serialize(line)).append('\n');
+        }
+        canonical.append(customModelData).append('\n')
+                .append(weaponProperty.speed()).append(',')
+                .append(weaponProperty.knockback()).append(',')
+                .append(weaponProperty.damage()).append('\n')
+                .append(armorProperty.armor()).append(',')
+                .append(armorProperty.armorToughness()).append(',')
+                .append(armorProperty.slot() == null ? null : armorProperty.slot().name());
+        final CRC32C crc = new CRC32C();
+        crc.update(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        final int revision = (int) crc.getValue() & Integer.MAX_VALUE;
+        return revision == 0 ? 1 : revision;
+    }
+
     /**
      * 获取此自定义物品的基础材质。
      *
@@ -91,11 +160,13 @@ public interface ArtisanItem {
     /**
      * 获取此物品的属性系统配置。
      *
+     * <p>返回注册时冻结的只读形式，可以按下标遍历物品实例属性。</p>
+     *
      * @return 属性配置对象，不会返回null，可以使用 {@link AttributeProperty#isEmpty()} 判空
-     * @see AttributeProperty
+     * @see FrozenAttributeProperty
      */
     @NotNull
-    AttributeProperty getAttributeProperty();
+    FrozenAttributeProperty getAttributeProperty();
 
     /**
      * 获取此物品的武器属性配置。
@@ -0,0 +1,122 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeKey;
+import io.github.moyusowo.neoartisanapi.api.attribute.DoubleAttributeKey;
+import io.github.moyusowo.neoartisanapi.api.attribute.IntAttributeKey;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 物品堆属性批量编辑器。
+ *
+ * <p>由 {@link ItemRegistry#editAttributes(org.bukkit.inventory.ItemStack, java.util.function.Consumer)} 提供，
+ * 编辑期间所有读写都作用于同一份物品元数据，回调结束后统一写回物品堆一次。</p>
+ *
+ * <p>所有写入都会按 {@link io.github.moyusowo.neoartisanapi.api.attribute.AttributeTypeRegistry}
+ * 中注册的类型校验，读取返回的是本次编辑中最新的值（包括尚未提交的写入）。</p>
+ *
+ * @apiNote 编辑器只在回调执行期间有效，不要保存或在回调之外使用；不保证API的线程安全
+ * @see ItemRegistry#editAttributes(org.bukkit.inventory.ItemStack, java.util.function.Consumer)
+ */
+@SuppressWarnings("unused")
+public interface AttributeEditor {
+
+    /**
+     * 获取正在编辑的物品API实例。
+     *
+     * @return 物品API接口实例（不会为null）
+     */
+    @NotNull ArtisanItem getArtisanItem();
+
+    /**
+     * 检查是否存在指定的动态属性值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @return 如果存在该属性值返回true
+     */
+    boolean has(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 读取动态属性值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @return 属性值，如果不存在返回null
+     * @param <T> 属性值类型
+     * @throws IllegalStateException 如果属性类型不匹配
+     */
+    @Nullable <T> T get(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 设置动态属性值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @param value 要设置的值（不能为null）
+     * @return 当前编辑器实例
+     * @throws IllegalArgumentException 如果属性未注册或值类型无效
+     */
+    @NotNull AttributeEditor set(@NotNull NamespacedKey attributeKey, @NotNull Object value);
+
+    /**
+     * 移除动态属性值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @return 当前编辑器实例
+     */
+    @NotNull AttributeEditor remove(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 通过带类型句柄读取动态属性值。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @return 属性值，如果不存在返回null
+     * @param <T> 属性值类型
+     */
+    @Nullable <T> T get(@NotNull AttributeKey<T> attributeKey);
+
+    /**
+     * 通过带类型句柄设置动态属性值。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param value 要设置的值（不能为null）
+     * @return 当前编辑器实例
+     * @param <T> 属性值类型
+     */
+    @NotNull <T> AttributeEditor set(@NotNull AttributeKey<T> attributeKey, @NotNull T value);
+
+    /**
+     * 通过 {@code int} 属性句柄读取动态属性值，不会装箱。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    int getInt(@NotNull IntAttributeKey attributeKey, int defaultValue);
+
+    /**
+     * 通过 {@code int} 属性句柄设置动态属性值，不会装箱。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param value 要设置的值
+     * @return 当前编辑器实例
+     */
+    @NotNull AttributeEditor setInt(@NotNull IntAttributeKey attributeKey, int value);
+
+    /**
+     * 通过 {@code double} 属性句柄读取动态属性值，不会装箱。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    double getDouble(@NotNull DoubleAttributeKey attributeKey, double defaultValue);
+
+    /**
+     * 通过 {@code double} 属性句柄设置动态属性值，不会装箱。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param value 要设置的值
+     * @return 当前编辑器实例
+     */
+    @NotNull AttributeEditor setDouble(@NotNull DoubleAttributeKey attributeKey, double value);
+}
@@ -1,5 +1,6 @@
 package io.github.moyusowo.neoartisanapi.api.item;
 
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeKey;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.jetbrains.annotations.NotNull;
@@ -54,6 +55,18 @@ public interface AttributeProperty {
      */
     void addItemstackAttribute(@NotNull NamespacedKey attributeKey, @NotNull Object value);
 
+    /**
+     * 通过带类型句柄添加/更新物品实例初始属性。
+     *
+     * @param attributeKey 属性句柄（不可为null）
+     * @param value 新建物品时的默认值（不可为null）
+     * @param <T> 属性值类型
+     * @see #addItemstackAttribute(NamespacedKey, Object)
+     */
+    default <T> void addItemstackAttribute(@NotNull AttributeKey<T> attributeKey, @NotNull T value) {
+        addItemstackAttribute(attributeKey.getKey(), value);
+    }
+
     /**
      * 检查是否存在指定的全局属性。
      *
@@ -100,7 +113,21 @@ public interface AttributeProperty {
     /**
      * 获取所有已注册的物品实例属性键。
      *
+     * <p>每次调用都会返回新的数组，热点路径应使用 {@link FrozenAttributeProperty} 的下标访问方法。</p>
+     *
      * @return 物品属性键数组，无属性时返回空数组（不会为null）
      */
     NamespacedKey[] getItemstackAttributeKeys();
+
+    /**
+     * 将当前容器冻结为只读形式。
+     *
+     * <p>冻结时会解析所有物品实例属性的持久化类型，并将键、类型和初始值展开为并行数组。
+     * 注册自定义物品时会自动冻结其属性配置，通常无需手动调用。</p>
+     *
+     * @return 冻结后的只读容器（不会为null）
+     * @throws IllegalArgumentException 如果存在未注册的属性或值类型不合法
+     * @see FrozenAttributeProperty
+     */
+    @NotNull FrozenAttributeProperty freeze();
 }
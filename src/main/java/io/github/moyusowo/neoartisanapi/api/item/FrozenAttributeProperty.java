@@ -0,0 +1,71 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataType;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 冻结后的只读物品属性容器。
+ *
+ * <p>在自定义物品注册时由 {@link AttributeProperty#freeze()} 生成，
+ * 物品堆属性的键、已解析的 {@link PersistentDataType} 和初始值按相同下标存放在并行数组中。
+ * 新建物品堆时可以按下标遍历写入初始属性，不需要创建数组或按类型名称查询类型注册表：</p>
+ * <pre>{@code
+ * FrozenAttributeProperty property = artisanItem.getAttributeProperty();
+ * for (int i = 0; i < property.getItemstackAttributeCount(); i++) {
+ *     container.set(property.getItemstackAttributeKey(i), property.getItemstackAttributePDCType(i), property.getItemstackAttributeValue(i));
+ * }
+ * }</pre>
+ *
+ * <p>所有添加属性的方法都会抛出 {@link UnsupportedOperationException}。</p>
+ *
+ * @see ArtisanItem#getAttributeProperty()
+ */
+@SuppressWarnings("unused")
+public interface FrozenAttributeProperty extends AttributeProperty {
+
+    /**
+     * 获取物品实例属性的数量。
+     *
+     * @return 物品实例属性数量，无属性时返回0
+     */
+    int getItemstackAttributeCount();
+
+    /**
+     * 获取指定下标的物品实例属性键。
+     *
+     * @param index 属性下标（范围为 {@code [0, getItemstackAttributeCount())}）
+     * @return 属性键（不会为null）
+     * @throws IndexOutOfBoundsException 如果下标越界
+     */
+    @NotNull NamespacedKey getItemstackAttributeKey(int index);
+
+    /**
+     * 获取指定下标的物品实例属性对应的持久化类型。
+     *
+     * @param index 属性下标（范围为 {@code [0, getItemstackAttributeCount())}）
+     * @param <P> 持久化原始类型
+     * @param <C> 属性值类型
+     * @return 冻结时已解析的PDC持久化类型（不会为null）
+     * @throws IndexOutOfBoundsException 如果下标越界
+     */
+    @NotNull <P, C> PersistentDataType<P, C> getItemstackAttributePDCType(int index);
+
+    /**
+     * 获取指定下标的物品实例属性初始值。
+     *
+     * @param index 属性下标（范围为 {@code [0, getItemstackAttributeCount())}）
+     * @param <C> 属性值类型
+     * @return 属性初始值（不会为null）
+     * @throws IndexOutOfBoundsException 如果下标越界
+     */
+    @NotNull <C> C getItemstackAttributeValue(int index);
+
+    /**
+     * 已冻结的容器返回自身。
+     *
+     * @return 当前实例
+     */
+    @Override
+    @NotNull FrozenAttributeProperty freeze();
+}
@@ -0,0 +1,192 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeKey;
+import io.github.moyusowo.neoartisanapi.api.attribute.DoubleAttributeKey;
+import io.github.moyusowo.neoartisanapi.api.attribute.IntAttributeKey;
+import io.github.moyusowo.neoartisanapi.api.registry.FreezableRegistry;
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 物品堆的只读检查器，不论注册表是否冻结都可以在任意线程调用。
+ *
+ * <p>与 {@link ItemRegistry} 的同名方法不同，检查器不会通过 {@link ItemStack#getItemMeta()}
+ * 复制一份物品元数据，而是通过 {@link ItemStack#getPersistentDataContainer()} 返回的只读视图
+ * 直接读取物品堆数据组件中的自定义数据，再到注册表当前发布的快照中查找。快照以写时复制的方式维护，
+ * 注册和重载都通过一次引用写入发布新快照，因此检查器不需要等待注册表冻结（见 {@link FreezableRegistry}）。
+ * 整个过程不修改任何共享状态，适合反作弊、拍卖行索引和数据库同步等需要在异步线程大量识别物品堆的场景。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * ItemInspector inspector = ItemRegistry.getItemRegistryManager().getInspector();
+ * CompletableFuture.runAsync(() -> {
+ *     for (ItemStack itemStack : snapshot) {
+ *         if (inspector.isArtisanItem(itemStack)) { ... }
+ *     }
+ * });
+ * }</pre>
+ *
+ * @apiNote 被检查的物品堆不能被其他线程同时修改；对于玩家背包等仍在主线程变化的物品堆，
+ * 应先在主线程复制一份再交给异步线程。注册或重载与检查同时发生时，一次调用只会看到其中一份快照
+ * @see ItemRegistry#getInspector()
+ */
+@SuppressWarnings("unused")
+public interface ItemInspector {
+
+    /**
+     * 表示物品堆没有写入打包标记时 {@link #getStamp(ItemStack)} 的返回值。
+     *
+     * <p>按 {@link #stampNumericId(long)} 拆出的数字ID为 {@link ItemRegistry#NO_NUMERIC_ID}。</p>
+     */
+    long NO_STAMP = -1L;
+
+    /**
+     * 表示物品堆不是自定义物品时 {@link #getRevision(ItemStack)} 的返回值。
+     *
+     * <p>定义修订号总是大于0（见 {@link ArtisanItem#computeRevision}），没有写入修订号的旧物品堆视为0，
+     * 因此该值不会与任何自定义物品的修订号混淆。</p>
+     */
+    int NO_REVISION = -1;
+
+    /**
+     * 检查物品堆是否为自定义物品。
+     *
+     * @param itemStack 要检查的物品堆（可为null）
+     * @return 如果是本系统注册的自定义物品返回true
+     */
+    default boolean isArtisanItem(@Nullable ItemStack itemStack) {
+        return getNumericId(itemStack) != ItemRegistry.NO_NUMERIC_ID;
+    }
+
+    /**
+     * 读取物品堆上自定义物品的数字ID。
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 数字ID，如果不是自定义物品返回 {@link ItemRegistry#NO_NUMERIC_ID}
+     * @see ItemRegistry#getNumericId(ItemStack)
+     */
+    int getNumericId(@Nullable ItemStack itemStack);
+
+    /**
+     * 读取物品堆的注册ID。
+     *
+     * <p>minecraft原版物品会返回原版物品的命名空间ID。</p>
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @return 对应的注册ID（不会为null）
+     * @see ItemRegistry#getRegistryId(ItemStack)
+     */
+    @NotNull NamespacedKey getRegistryId(@NotNull ItemStack itemStack);
+
+    /**
+     * 读取物品堆对应的物品API实例。
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 物品API接口实例，如果不是自定义物品返回null
+     */
+    @Nullable ArtisanItem getArtisanItem(@Nullable ItemStack itemStack);
+
+    /**
+     * 读取物品堆上写入的定义修订号。
+     *
+     * <p>在修订号功能加入之前创建的物品堆没有写入修订号，视为修订号 {@code 0}，与任何定义的修订号都不同。</p>
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 定义修订号，如果不是自定义物品返回 {@link #NO_REVISION}
+     * @see ArtisanItem#getRevision()
+     */
+    int getRevision(@Nullable ItemStack itemStack);
+
+    /**
+     * 读取物品堆PDC中打包存放的数字ID与定义修订号，只读取一次PDC。
+     *
+     * <p>高32位为数字ID，低32位为定义修订号，分别用 {@link #stampNumericId(long)} 和
+     * {@link #stampRevision(long)} 拆出。</p>
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 打包标记，如果物品堆没有写入打包标记（包括原版物品和修订号功能加入之前创建的物品堆）返回 {@link #NO_STAMP}
+     */
+    long getStamp(@Nullable ItemStack itemStack);
+
+    /**
+     * 检查物品堆是否是按旧的物品定义构建的。
+     *
+     * <p>实现只读取一次 {@link #getStamp(ItemStack)} 的打包标记，再与当前快照中按数字ID索引的修订号数组
+     * 做一次 {@code !=} 比较，不查找 {@link ArtisanItem} 实例，也不会再次读取PDC。只有没有打包标记的旧物品堆
+     * 才回退到按注册ID查找。</p>
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 如果是自定义物品且物品堆上的修订号与当前定义的修订号不同（{@code !=}）返回true
+     * @see ItemRegistry#migrate(ItemStack)
+     */
+    boolean isStale(@Nullable ItemStack itemStack);
+
+    /**
+     * 从打包标记中拆出数字ID，即标记的高32位。
+     *
+     * @param stamp {@link #getStamp(ItemStack)} 的返回值
+     * @return 打包标记中的数字ID，标记为 {@link #NO_STAMP} 时返回 {@link ItemRegistry#NO_NUMERIC_ID}
+     */
+    static int stampNumericId(long stamp) {
+        return (int) (stamp >> 32);
+    }
+
+    /**
+     * 从打包标记中拆出定义修订号，即标记的低32位。
+     *
+     * @param stamp {@link #getStamp(ItemStack)} 的返回值
+     * @return 打包标记中的定义修订号，标记为 {@link #NO_STAMP} 时没有意义
+     */
+    static int stampRevision(long stamp) {
+        return (int) stamp;
+    }
+
+    /**
+     * 把数字ID与定义修订号打包为一个标记。
+     *
+     * @param numericId 数字ID（不小于0）
+     * @param revision 定义修订号（不小于0）
+     * @return 打包标记
+     */
+    static long stamp(int numericId, int revision) {
+        return ((long) numericId << 32) | (revision & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 读取物品堆上的动态属性值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param attributeKey 属性句柄（不能为null）
+     * @return 属性值，如果不存在返回null
+     * @param <T> 属性值类型
+     */
+    @Nullable <T> T getItemstackAttributeValue(@NotNull ItemStack itemStack, @NotNull AttributeKey<T> attributeKey);
+
+    /**
+     * 读取物品堆上的 {@code int} 类型动态属性值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param attributeKey 属性句柄（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    default int getInt(@NotNull ItemStack itemStack, @NotNull IntAttributeKey attributeKey, int defaultValue) {
+        final Integer value = getItemstackAttributeValue(itemStack, attributeKey);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * 读取物品堆上的 {@code double} 类型动态属性值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param attributeKey 属性句柄（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    default double getDouble(@NotNull ItemStack itemStack, @NotNull DoubleAttributeKey attributeKey, double defaultValue) {
+        final Double value = getItemstackAttributeValue(itemStack, attributeKey);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -1,14 +1,23 @@
 package io.github.moyusowo.neoartisanapi.api.item;
 
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeKey;
+import io.github.moyusowo.neoartisanapi.api.registry.FreezableRegistry;
 import net.kyori.adventure.text.Component;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * 自定义物品注册表核心接口，提供完整的自定义物品生命周期管理。
@@ -22,12 +31,24 @@ import java.util.List;
  *
  * <p>通过 {@link org.bukkit.Bukkit#getServicesManager()} 获取实例。</p>
  *
+ * <p>物品注册表无论是否冻结（见 {@link FreezableRegistry}）都维护一份写时复制的不可变快照：
+ * 每次注册或重载都会构建新的快照，并通过一次引用写入发布。{@link #getInspector()} 返回的检查器、
+ * {@link #getNumericIds(ItemStack[])} 和 {@link #countItems(List, ForkJoinPool)} 只读取已发布的快照，
+ * 可以在任意线程调用；冻结只是关闭注册，让快照不再因注册而变化。</p>
+ *
  * @apiNote 部分方法涉及持久化操作，请在主线程调用
  * @see ArtisanItem
  * @see org.bukkit.plugin.ServicesManager
  */
 @SuppressWarnings("unused")
-public interface ItemRegistry {
+public interface ItemRegistry extends FreezableRegistry {
+
+    /**
+     * 表示物品堆不是自定义物品时返回的数字ID。
+     *
+     * @see #getNumericId(ItemStack)
+     */
+    int NO_NUMERIC_ID = -1;
 
     /**
      * 获取自定义物品注册表管理器的实例。
@@ -35,7 +56,7 @@ public interface ItemRegistry {
      * @return 自定义物品注册表管理器的实例
      */
     static ItemRegistry getItemRegistryManager() {
-        return Bukkit.getServicesManager().load(ItemRegistry.class);
+        return Services.ITEM_REGISTRY.get();
     }
 
     /**
@@ -186,11 +207,59 @@ public interface ItemRegistry {
     /**
      * 通过构建器直接注册物品（推荐使用）。
      *
+     * <p>注册时会根据构建器数据一次性构建该物品的原型物品堆，之后创建物品堆只需复制原型。</p>
+     *
      * @param builder 物品构建器实例（不能为null）
      * @throws IllegalArgumentException 如果builder为null或包含无效参数
+     * @throws IllegalStateException 如果注册表已冻结
      */
     void registerItem(@NotNull Builder builder);
 
+    /**
+     * 用一组新的物品定义热重载一个命名空间内的自定义物品。
+     *
+     * <p>物品注册表由所有插件共享，重载只作用于指定的命名空间，通常是调用插件自己的命名空间，
+     * 其他命名空间的物品、它们的物品堆和配方都不受影响。</p>
+     *
+     * <p>重载分为三个阶段：</p>
+     * <ol>
+     *   <li>在异步线程校验全部构建器，构建该命名空间完整的新物品表及其原型物品堆</li>
+     *   <li>与当前物品表中该命名空间的物品逐个比较，得到新增、变化和移除的物品</li>
+     *   <li>回到主线程，以一次引用写入原子地发布新物品表的快照，只使变化和移除的物品的原型及引用它们的配方失效
+     *   （见 {@link io.github.moyusowo.neoartisanapi.api.recipe.RecipeRegistry#invalidateItems(Collection)}），
+     *   然后触发 {@link io.github.moyusowo.neoartisanapi.api.item.event.ArtisanItemsReloadEvent}</li>
+     * </ol>
+     *
+     * <p>未变化的物品保留原有的 {@link ArtisanItem} 实例；变化的物品换成新实例但保留原有的数字ID；
+     * 被移除物品的数字ID不会被复用，新增物品分配新的数字ID。因此已有的物品堆在重载后仍能正确解析。
+     * 该命名空间中构建器集合未出现的自定义物品视为被移除，其他命名空间的物品和原版物品不受影响。</p>
+     *
+     * <p>重载期间读取仍然访问旧快照，不会看到部分更新的物品表。</p>
+     *
+     * @param namespace 要重载的命名空间（不能为null，不能是 {@code minecraft}）
+     * @param builders 该命名空间新的全部物品定义（不能为null）
+     * @return 在主线程完成的重载结果；如果校验失败，以 {@link IllegalArgumentException} 异常完成，当前物品表保持不变
+     * @throws IllegalArgumentException 如果命名空间是 {@code minecraft}，或某个构建器的注册ID不在该命名空间中
+     * @throws IllegalStateException 如果该命名空间已有重载正在进行
+     * @apiNote 请在主线程调用
+     * @see ItemReloadResult
+     */
+    @NotNull CompletableFuture<ItemReloadResult> reloadItems(@NotNull String namespace, @NotNull Collection<? extends Builder> builders);
+
+    /**
+     * 热重载插件自己命名空间内的自定义物品。
+     *
+     * <p>命名空间与 {@link NamespacedKey#NamespacedKey(org.bukkit.plugin.Plugin, String)} 使用的相同，即插件名的小写形式。</p>
+     *
+     * @param plugin 物品所属的插件（不能为null）
+     * @param builders 该插件新的全部物品定义（不能为null）
+     * @return 在主线程完成的重载结果
+     * @see #reloadItems(String, Collection)
+     */
+    default @NotNull CompletableFuture<ItemReloadResult> reloadItems(@NotNull Plugin plugin, @NotNull Collection<? extends Builder> builders) {
+        return reloadItems(plugin.getName().toLowerCase(Locale.ROOT), builders);
+    }
+
     /**
      * 从物品堆解析注册ID。
      *
@@ -217,6 +286,8 @@ public interface ItemRegistry {
      *
      * <p>该方法兼容minecraft原版物品命名空间ID</p>
      *
+     * <p>自定义物品通过复制注册时构建的原型并设置数量得到，不会重新构建显示名称、Lore及各项组件。</p>
+     *
      * @param registryId 物品注册ID（不能为null）
      * @param count 物品数量（超过堆叠上限的数值会自动变为上限值）
      * @return 新的物品堆实例（不会为null）
@@ -234,6 +305,38 @@ public interface ItemRegistry {
      */
     @NotNull ItemStack getItemStack(NamespacedKey registryId);
 
+    /**
+     * 创建总数为指定数量的一组物品堆。
+     *
+     * <p>总数会按物品的堆叠上限拆分为多个物品堆，例如堆叠上限为64时，
+     * 总数150会得到数量分别为64、64、22的三个物品堆。所有物品堆都复制自同一个原型，不会逐个重新构建。</p>
+     *
+     * <p>该方法兼容minecraft原版物品命名空间ID</p>
+     *
+     * @param registryId 物品注册ID（不能为null）
+     * @param totalCount 物品总数（不能为负数，为0时返回空列表）
+     * @return 新的物品堆列表（不会为null）
+     * @throws IllegalArgumentException 如果物品未注册或totalCount为负数
+     * @see #getItemStack(NamespacedKey, int)
+     */
+    default @NotNull List<ItemStack> getItemStacks(@NotNull NamespacedKey registryId, int totalCount) {
+        if (totalCount < 0) {
+            throw new IllegalArgumentException("totalCount must not be negative: " + totalCount);
+        }
+        final ItemStack prototype = getItemStack(registryId, 1);
+        final int maxStackSize = prototype.getMaxStackSize();
+        final List<ItemStack> itemStacks = new ArrayList<>((totalCount + maxStackSize - 1) / maxStackSize);
+        int remaining = totalCount;
+        while (remaining > 0) {
+            final int amount = Math.min(remaining, maxStackSize);
+            final ItemStack itemStack = prototype.clone();
+            itemStack.setAmount(amount);
+            itemStacks.add(itemStack);
+            remaining -= amount;
+        }
+        return itemStacks;
+    }
+
     /**
      * 通过ID验证是否为有效自定义物品。
      *
@@ -274,6 +377,141 @@ public interface ItemRegistry {
     @NotNull
     ArtisanItem getArtisanItem(ItemStack itemStack);
 
+    /**
+     * 从物品堆解析自定义物品的数字ID。
+     *
+     * <p>数字ID以整数形式存储在物品堆的PDC中，读取时无需解析和哈希字符串；
+     * 对于写入数字ID之前创建的旧物品堆，会回退到字符串注册ID解析。</p>
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 数字ID，如果不是自定义物品（包括原版物品）返回 {@link #NO_NUMERIC_ID}
+     * @see ArtisanItem#getNumericId()
+     */
+    int getNumericId(@Nullable ItemStack itemStack);
+
+    /**
+     * 通过注册ID获取自定义物品的数字ID。
+     *
+     * @param registryId 物品注册ID（可为null）
+     * @return 数字ID，如果未注册为自定义物品返回 {@link #NO_NUMERIC_ID}
+     */
+    int getNumericId(@Nullable NamespacedKey registryId);
+
+    /**
+     * 通过数字ID获取物品API实例。
+     *
+     * <p>该方法为数组下标访问，时间复杂度为O(1)。</p>
+     *
+     * @param numericId 数字ID
+     * @return 物品API接口实例，如果数字ID无效返回null
+     * @see #getNumericId(ItemStack)
+     */
+    @Nullable
+    ArtisanItem getArtisanItem(int numericId);
+
+    /**
+     * 获取当前已分配的数字ID数量。
+     *
+     * <p>所有有效的数字ID都在 {@code [0, getNumericIdCount())} 范围内，可用于预分配数组。</p>
+     *
+     * @return 已分配的数字ID数量
+     */
+    int getNumericIdCount();
+
+    /**
+     * 一次性解析物品堆。
+     *
+     * <p>只读取一次物品元数据，返回包含物品API实例、注册ID和懒加载属性访问的视图，
+     * 用于替代依次调用 {@link #isArtisanItem(ItemStack)}、{@link #getArtisanItem(ItemStack)}
+     * 和 {@link #getItemstackAttributeValue(ItemStack, NamespacedKey)} 的写法。</p>
+     *
+     * @param itemStack 目标物品堆（可为null）
+     * @return 解析结果视图（不会为null），null或空气物品堆返回非自定义物品的视图
+     * @see ResolvedItem
+     */
+    @NotNull ResolvedItem resolve(@Nullable ItemStack itemStack);
+
+    /**
+     * 获取物品堆的只读检查器。
+     *
+     * <p>检查器通过物品堆的只读数据视图识别物品，不会复制物品元数据，并且只读取已发布的快照，
+     * 不论注册表是否冻结都可以在任意线程使用。检查器是无状态的，可以保存复用。</p>
+     *
+     * @return 只读检查器（不会为null）
+     * @see ItemInspector
+     */
+    @NotNull ItemInspector getInspector();
+
+    /**
+     * 批量解析一组物品堆的数字ID。
+     *
+     * <p>超过 {@code 4096} 个槽位的批次会被拆分到 {@link ForkJoinPool#commonPool()} 上并行解析，
+     * 较小的批次在调用线程上顺序解析。解析只读取已发布的快照，与注册表是否冻结无关。</p>
+     *
+     * @param itemStacks 物品堆数组（不能为null，元素可为null）
+     * @return 与输入等长的数字ID数组，非自定义物品的槽位为 {@link #NO_NUMERIC_ID}
+     * @see #getNumericId(ItemStack)
+     */
+    default int @NotNull [] getNumericIds(@Nullable ItemStack @NotNull [] itemStacks) {
+        return ItemScan.numericIds(getInspector(), itemStacks, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量解析物品栏中每个槽位的数字ID。
+     *
+     * @param inventory 目标物品栏（不能为null）
+     * @return 与 {@link Inventory#getContents()} 等长的数字ID数组
+     * @apiNote 读取物品栏内容应在主线程进行
+     * @see #getNumericIds(ItemStack[])
+     */
+    default int @NotNull [] getNumericIds(@NotNull Inventory inventory) {
+        return getNumericIds(inventory.getContents());
+    }
+
+    /**
+     * 统计一组物品堆中每种自定义物品的总数量。
+     *
+     * @param itemStacks 物品堆数组（不能为null，元素可为null）
+     * @return 以数字ID为下标、长度为 {@link #getNumericIdCount()} 的数量直方图
+     * @see #countItems(List, ForkJoinPool)
+     */
+    default long @NotNull [] countItems(@Nullable ItemStack @NotNull [] itemStacks) {
+        return countItems(List.<ItemStack[]>of(itemStacks), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 统计物品栏中每种自定义物品的总数量。
+     *
+     * @param inventory 目标物品栏（不能为null）
+     * @return 以数字ID为下标、长度为 {@link #getNumericIdCount()} 的数量直方图
+     * @apiNote 读取物品栏内容应在主线程进行
+     */
+    default long @NotNull [] countItems(@NotNull Inventory inventory) {
+        return countItems(inventory.getContents());
+    }
+
+    /**
+     * 统计多个容器中每种自定义物品的总数量。
+     *
+     * <p>用于离线玩家数据、容器快照等大批量审计。槽位总数超过 {@code 4096} 时，容器会按槽位总数分组，
+     * 在指定的线程池上并行统计后合并，耗时随核心数线性下降；与注册表是否冻结无关。</p>
+     *
+     * <p>使用示例：</p>
+     * <pre>{@code
+     * List<ItemStack[]> snapshots = ...; // 在主线程复制的物品栏内容
+     * long[] counts = registry.countItems(snapshots, ForkJoinPool.commonPool());
+     * long total = counts[registry.getNumericId(key)];
+     * }</pre>
+     *
+     * @param containers 容器内容列表（不能为null，元素不能为null）
+     * @param pool 用于并行统计的线程池（不能为null）
+     * @return 以数字ID为下标、长度为 {@link #getNumericIdCount()} 的数量直方图
+     * @apiNote 容器内容在统计期间不能被修改，对于仍在变化的物品栏应先在主线程复制
+     */
+    default long @NotNull [] countItems(@NotNull List<@Nullable ItemStack @NotNull []> containers, @NotNull ForkJoinPool pool) {
+        return ItemScan.histogram(getInspector(), containers, getNumericIdCount(), pool);
+    }
+
     /**
      * 读取物品堆上的动态属性值。
      *
@@ -297,4 +535,79 @@ public interface ItemRegistry {
      * @see #getItemstackAttributeValue(ItemStack, NamespacedKey)
      */
     <T> void setItemstackAttributeValue(@NotNull ItemStack itemStack, @NotNull NamespacedKey attributeKey, @NotNull T value);
+
+    /**
+     * 通过带类型句柄读取物品堆上的动态属性值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param attributeKey 属性句柄（不能为null）
+     * @return 属性值，如果不存在返回null
+     * @param <T> 属性值类型
+     * @see AttributeKey#get(ItemStack)
+     */
+    default @Nullable <T> T getItemstackAttributeValue(@NotNull ItemStack itemStack, @NotNull AttributeKey<T> attributeKey) {
+        return attributeKey.get(itemStack);
+    }
+
+    /**
+     * 通过带类型句柄设置物品堆上的动态属性值。
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param attributeKey 属性句柄（不能为null）
+     * @param value 要设置的值（不能为null）
+     * @param <T> 属性值类型
+     * @throws IllegalArgumentException 如果物品堆不是自定义物品
+     * @see AttributeKey#set(ItemStack, Object)
+     */
+    default <T> void setItemstackAttributeValue(@NotNull ItemStack itemStack, @NotNull AttributeKey<T> attributeKey, @NotNull T value) {
+        attributeKey.set(itemStack, value);
+    }
+
+    /**
+     * 在同一份物品元数据上批量读写物品堆的动态属性。
+     *
+     * <p>只读取一次物品元数据，回调中的所有读写都作用于这份元数据，回调正常结束后一次性写回物品堆。
+     * 如果回调抛出异常，物品堆不会被修改。</p>
+     *
+     * <p>使用示例：</p>
+     * <pre>{@code
+     * registry.editAttributes(itemStack, editor -> editor
+     *     .setInt(levelKey, editor.getInt(levelKey, 0) + 1)
+     *     .setDouble(bonusKey, 0.5)
+     *     .remove(curseKey));
+     * }</pre>
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @param editor 编辑回调（不能为null）
+     * @throws IllegalArgumentException 如果物品堆不是自定义物品，或写入的属性未注册、值类型无效
+     * @see AttributeEditor
+     */
+    void editAttributes(@NotNull ItemStack itemStack, @NotNull Consumer<AttributeEditor> editor);
+
+    /**
+     * 把按旧定义构建的物品堆迁移到当前定义。
+     *
+     * <p>迁移在原物品堆的物品元数据上进行，只重建由物品定义决定的组件：</p>
+     * <ul>
+     *     <li>物品名（{@code item_name}，不是玩家用铁砧设置的自定义名称 {@code custom_name}）</li>
+     *     <li>描述（{@code lore}）</li>
+     *     <li>自定义模型数据（{@code custom_model_data}）</li>
+     *     <li>属性修饰符（{@code attribute_modifiers}），即 {@link ArtisanItem#getWeaponProperty()} 和
+     *     {@link ArtisanItem#getArmorProperty()} 提供的部分</li>
+     *     <li>物品堆PDC中的数字ID与定义修订号</li>
+     * </ul>
+     * <p>其余内容全部原样保留，包括数量、耐久损耗、附魔、自定义名称、铁砧累计惩罚、盔甲纹饰、
+     * 其他插件写入的PDC键以及所有物品堆属性；当前定义新增的物品堆属性以初始值补上。
+     * 不是自定义物品或修订号与当前定义相同的物品堆原样返回，这一检查只是一次整数 {@code !=} 比较。</p>
+     *
+     * <p>在API插件的 {@code config.yml} 中开启 {@code migration.enabled} 后，API插件会在物品堆被点击、穿戴、
+     * 交换主副手或Shift点击移动时自动迁移对应槽位和光标，并限制每刻的迁移数量。默认不开启；
+     * 漏斗等容器之间的移动不会触发自动迁移，需要时可以手动调用。</p>
+     *
+     * @param itemStack 目标物品堆（不能为null）
+     * @return 迁移后的新物品堆；如果无需迁移，返回传入的同一实例
+     * @apiNote 请在主线程调用
+     * @see ItemInspector#isStale(ItemStack)
+     */
+    @NotNull ItemStack migrate(@NotNull ItemStack itemStack);
 }
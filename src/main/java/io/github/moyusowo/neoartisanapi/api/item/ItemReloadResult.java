@@ -0,0 +1,67 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 自定义物品定义重载的结果。
+ *
+ * <p>各阶段耗时均以纳秒为单位，其中只有 {@code swapNanos} 发生在主线程。</p>
+ *
+ * @param namespace 被重载的命名空间
+ * @param added 新增的物品ID（不可修改）
+ * @param changed 定义发生变化的物品ID（不可修改）
+ * @param removed 被移除的物品ID（不可修改）
+ * @param unchangedCount 定义未变化的物品数量
+ * @param buildNanos 在异步线程构建新物品表（包括原型物品堆）的耗时
+ * @param diffNanos 与当前物品表比较差异的耗时
+ * @param swapNanos 在主线程发布新物品表并使缓存失效的耗时
+ * @see ItemRegistry#reloadItems(String, java.util.Collection)
+ */
+@SuppressWarnings("unused")
+public record ItemReloadResult(@NotNull String namespace, @NotNull List<NamespacedKey> added, @NotNull List<NamespacedKey> changed,
+                               @NotNull List<NamespacedKey> removed, int unchangedCount,
+                               long buildNanos, long diffNanos, long swapNanos) {
+
+    /**
+     * 三个物品ID列表会被复制为不可修改的列表。
+     *
+     * @throws NullPointerException 如果命名空间、列表或列表中的元素为null
+     */
+    public ItemReloadResult {
+        Objects.requireNonNull(namespace, "namespace");
+        added = List.copyOf(added);
+        changed = List.copyOf(changed);
+        removed = List.copyOf(removed);
+    }
+
+    /**
+     * 检查本次重载是否改变了任何物品。
+     *
+     * @return 如果有新增、变化或移除的物品返回true
+     */
+    public boolean hasChanges() {
+        return !added.isEmpty() || !changed.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * 获取整个重载的总耗时。
+     *
+     * @return 总耗时（纳秒）
+     */
+    public long totalNanos() {
+        return buildNanos + diffNanos + swapNanos;
+    }
+
+    /**
+     * 获取主线程上的耗时，即 {@link #swapNanos()}。
+     *
+     * @return 主线程耗时（纳秒）
+     */
+    public long mainThreadNanos() {
+        return swapNanos;
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+final class ItemScan {
+
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    private ItemScan() {
+    }
+
+    static int[] numericIds(ItemInspector inspector, ItemStack[] itemStacks, ForkJoinPool pool) {
+        final int[] ids = new int[itemStacks.length];
+        if (pool == null || itemStacks.length <= PARALLEL_THRESHOLD) {
+            fillIds(inspector, itemStacks, ids, 0, itemStacks.length);
+        } else {
+            pool.invoke(new IdTask(inspector, itemStacks, ids, 0, itemStacks.length));
+        }
+        return ids;
+    }
+
+    static long[] histogram(ItemInspector inspector, List<ItemStack[]> containers, int idCount, ForkJoinPool pool) {
+        if (pool == null || totalLength(containers) <= PARALLEL_THRESHOLD) {
+            final long[] counts = new long[idCount];
+            for (ItemStack[] itemStacks : containers) {
+                count(inspector, itemStacks, 0, itemStacks.length, counts);
+            }
+            return counts;
+        }
+        return pool.invoke(new HistogramTask(inspector, containers, idCount, 0, containers.size()));
+    }
+
+    private static void fillIds(ItemInspector inspector, ItemStack[] itemStacks, int[] ids, int from, int to) {
+        for (int i = from; i < to; i++) {
+            ids[i] = inspector.getNumericId(itemStacks[i]);
+        }
+    }
+
+    private static void count(ItemInspector inspector, ItemStack[] itemStacks, int from, int to, long[] counts) {
+        for (int i = from; i < to; i++) {
+            final ItemStack itemStack = itemStacks[i];
+            final int id = inspector.getNumericId(itemStack);
+            // 扫描期间发生重载时新分配的数字ID可能超出预分配的范围，直接忽略
+            if (id >= 0 && id < counts.length) {
+                counts[id] += itemStack.getAmount();
+            }
+        }
+    }
+
+    private static long totalLength(List<ItemStack[]> containers) {
+        long total = 0;
+        for (ItemStack[] itemStacks : containers) {
+            total += itemStacks.length;
+        }
+        return total;
+    }
+
+    private static final class IdTask extends RecursiveAction {
+
+        private final ItemInspector inspector;
+        private final ItemStack[] itemStacks;
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        private IdTask(ItemInspector inspector, ItemStack[] itemStacks, int[] ids, int from, int to) {
+            this.inspector = inspector;
+            this.itemStacks = itemStacks;
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                fillIds(inspector, itemStacks, ids, from, to);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new IdTask(inspector, itemStacks, ids, from, mid), new IdTask(inspector, itemStacks, ids, mid, to));
+        }
+    }
+
+    private static final class HistogramTask extends RecursiveTask<long[]> {
+
+        private final ItemInspector inspector;
+        private final List<ItemStack[]> containers;
+        private final int idCount;
+        private final int from;
+        private final int to;
+
+        private HistogramTask(ItemInspector inspector, List<ItemStack[]> containers, int idCount, int from, int to) {
+            this.inspector = inspector;
+            this.containers = containers;
+            this.idCount = idCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from == 1 && containers.get(from).length > PARALLEL_THRESHOLD) {
+                final ItemStack[] itemStacks = containers.get(from);
+                return new SliceTask(inspector, itemStacks, idCount, 0, itemStacks.length).compute();
+            }
+            // 大量小容器按槽位总数合并为一个叶子任务，避免为每个容器分配一份直方图
+            if (to - from == 1 || totalLength(containers.subList(from, to)) <= PARALLEL_THRESHOLD) {
+                final long[] counts = new long[idCount];
+                for (int i = from; i < to; i++) {
+                    final ItemStack[] itemStacks = containers.get(i);
+                    count(inspector, itemStacks, 0, itemStacks.length, counts);
+                }
+                return counts;
+            }
+            final int mid = (from + to) >>> 1;
+            final HistogramTask left = new HistogramTask(inspector, containers, idCount, from, mid);
+            left.fork();
+            final long[] right = new HistogramTask(inspector, containers, idCount, mid, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    private static final class SliceTask extends RecursiveTask<long[]> {
+
+        private final ItemInspector inspector;
+        private final ItemStack[] itemStacks;
+        private final int idCount;
+        private final int from;
+        private final int to;
+
+        private SliceTask(ItemInspector inspector, ItemStack[] itemStacks, int idCount, int from, int to) {
+            this.inspector = inspector;
+            this.itemStacks = itemStacks;
+            this.idCount = idCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                final long[] counts = new long[idCount];
+                count(inspector, itemStacks, from, to, counts);
+                return counts;
+            }
+            final int mid = (from + to) >>> 1;
+            final SliceTask left = new SliceTask(inspector, itemStacks, idCount, from, mid);
+            left.fork();
+            final long[] right = new SliceTask(inspector, itemStacks, idCount, mid, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    private static long[] merge(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+        return into;
+    }
+}
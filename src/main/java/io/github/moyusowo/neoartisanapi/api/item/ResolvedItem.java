@@ -0,0 +1,109 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeKey;
+import io.github.moyusowo.neoartisanapi.api.attribute.DoubleAttributeKey;
+import io.github.moyusowo.neoartisanapi.api.attribute.IntAttributeKey;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 物品堆的一次性解析结果视图。
+ *
+ * <p>由 {@link ItemRegistry#resolve(org.bukkit.inventory.ItemStack)} 返回，解析时只读取一次物品元数据，
+ * 之后的所有查询都基于这次读取的结果，不会再次复制 {@link org.bukkit.inventory.meta.ItemMeta}。</p>
+ *
+ * <p>物品堆属性按需懒加载，只有实际查询的属性才会被反序列化。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * ResolvedItem resolved = registry.resolve(event.getCurrentItem());
+ * if (resolved.isArtisanItem()) {
+ *     Integer level = resolved.getItemstackAttributeValue(levelKey);
+ * }
+ * }</pre>
+ *
+ * @apiNote 视图反映的是解析时刻的物品堆状态，之后对物品堆的修改不会体现在视图中；不保证API的线程安全
+ * @see ItemRegistry#resolve(org.bukkit.inventory.ItemStack)
+ */
+@SuppressWarnings("unused")
+public interface ResolvedItem {
+
+    /**
+     * 检查解析的物品堆是否为自定义物品。
+     *
+     * @return 如果是本系统注册的自定义物品返回true
+     */
+    boolean isArtisanItem();
+
+    /**
+     * 获取解析出的物品API实例。
+     *
+     * @return 物品API接口实例，如果不是自定义物品返回null
+     */
+    @Nullable ArtisanItem getArtisanItem();
+
+    /**
+     * 获取解析出的注册ID。
+     *
+     * <p>minecraft原版物品会返回原版物品的命名空间ID。</p>
+     *
+     * @return 对应的注册ID（不会为null）
+     * @see ItemRegistry#getRegistryId(org.bukkit.inventory.ItemStack)
+     */
+    @NotNull NamespacedKey getRegistryId();
+
+    /**
+     * 获取解析出的数字ID。
+     *
+     * @return 数字ID，如果不是自定义物品返回 {@link ItemRegistry#NO_NUMERIC_ID}
+     * @see ItemRegistry#getNumericId(org.bukkit.inventory.ItemStack)
+     */
+    int getNumericId();
+
+    /**
+     * 检查物品堆上是否存在指定的动态属性值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @return 如果存在该属性值返回true
+     */
+    boolean hasItemstackAttributeValue(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 读取物品堆上的动态属性值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @return 属性值，如果不存在返回null
+     * @param <T> 属性值类型
+     * @throws IllegalStateException 如果属性类型不匹配
+     * @see ItemRegistry#getItemstackAttributeValue(org.bukkit.inventory.ItemStack, NamespacedKey)
+     */
+    @Nullable <T> T getItemstackAttributeValue(@NotNull NamespacedKey attributeKey);
+
+    /**
+     * 通过带类型句柄读取物品堆上的动态属性值。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @return 属性值，如果不存在返回null
+     * @param <T> 属性值类型
+     */
+    @Nullable <T> T getItemstackAttributeValue(@NotNull AttributeKey<T> attributeKey);
+
+    /**
+     * 通过 {@code int} 属性句柄读取物品堆上的动态属性值，不会装箱。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    int getInt(@NotNull IntAttributeKey attributeKey, int defaultValue);
+
+    /**
+     * 通过 {@code double} 属性句柄读取物品堆上的动态属性值，不会装箱。
+     *
+     * @param attributeKey 属性句柄（不能为null）
+     * @param defaultValue 属性不存在时返回的默认值
+     * @return 属性值，如果不存在返回defaultValue
+     */
+    double getDouble(@NotNull DoubleAttributeKey attributeKey, double defaultValue);
+}
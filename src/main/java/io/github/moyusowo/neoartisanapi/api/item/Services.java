@@ -0,0 +1,11 @@
+package io.github.moyusowo.neoartisanapi.api.item;
+
+import io.github.moyusowo.neoartisanapi.api.service.ServiceHolder;
+
+final class Services {
+
+    static final ServiceHolder<ItemRegistry> ITEM_REGISTRY = ServiceHolder.of(ItemRegistry.class);
+
+    private Services() {
+    }
+}
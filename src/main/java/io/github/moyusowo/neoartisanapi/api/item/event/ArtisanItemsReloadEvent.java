@@ -0,0 +1,51 @@
+package io.github.moyusowo.neoartisanapi.api.item.event;
+
+import io.github.moyusowo.neoartisanapi.api.item.ItemReloadResult;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 自定义物品定义重载完成、新物品表发布之后在主线程触发的事件。
+ *
+ * <p>缓存了 {@link io.github.moyusowo.neoartisanapi.api.item.ArtisanItem} 实例或由其派生数据的插件，
+ * 应监听此事件并只使 {@link ItemReloadResult#changed()} 和 {@link ItemReloadResult#removed()} 中的物品失效。</p>
+ *
+ * @see io.github.moyusowo.neoartisanapi.api.item.ItemRegistry#reloadItems(String, java.util.Collection)
+ */
+@SuppressWarnings("unused")
+public final class ArtisanItemsReloadEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final ItemReloadResult result;
+
+    /**
+     * 创建重载完成事件。
+     *
+     * @param result 本次重载的结果（不能为null）
+     * @apiNote 仅供API实现在 {@link io.github.moyusowo.neoartisanapi.api.item.ItemRegistry#reloadItems(String, java.util.Collection)}
+     * 发布新物品表后调用。其他插件不应自行构造或触发此事件，否则监听者会让并未重载的物品缓存失效
+     */
+    public ArtisanItemsReloadEvent(@NotNull ItemReloadResult result) {
+        this.result = result;
+    }
+
+    /**
+     * 获取本次重载的结果。
+     *
+     * @return 重载结果（不会为null）
+     */
+    public @NotNull ItemReloadResult getResult() {
+        return result;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static @NotNull HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
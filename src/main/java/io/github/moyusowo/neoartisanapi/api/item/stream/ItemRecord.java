@@ -0,0 +1,40 @@
+package io.github.moyusowo.neoartisanapi.api.item.stream;
+
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * 从物品记录流中解码出的一条记录。
+ *
+ * @param registryId 物品注册ID
+ * @param numericId 物品在当前注册表中的数字ID，如果该物品已不存在则为 {@link ItemRegistry#NO_NUMERIC_ID}
+ * @param count 物品数量
+ * @param attributes 物品堆属性值，键为属性键，值为属性的Java类型对象（不可修改）
+ * @see ItemRecordReader
+ */
+@SuppressWarnings("unused")
+public record ItemRecord(@NotNull NamespacedKey registryId, int numericId, int count, @NotNull Map<NamespacedKey, Object> attributes) {
+
+    /**
+     * 检查物品是否仍在当前注册表中。
+     *
+     * @return 如果物品仍已注册返回true
+     */
+    public boolean isRegistered() {
+        return numericId != ItemRegistry.NO_NUMERIC_ID;
+    }
+
+    /**
+     * 获取指定属性的值。
+     *
+     * @param attributeKey 属性键（不能为null）
+     * @return 属性值，如果记录中不存在返回null
+     */
+    public @Nullable Object getAttribute(@NotNull NamespacedKey attributeKey) {
+        return attributes.get(attributeKey);
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.moyusowo.neoartisanapi.api.item.stream;
+
+final class ItemRecordFormat {
+
+    static final int MAGIC = 0x4E414953;
+
+    static final int VERSION = 1;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 字典中物品和属性条目数量的上限。
+     */
+    static final int MAX_ENTRIES = 1 << 20;
+
+    /**
+     * 单个字符串或数组值的字节数上限，读取时据此拒绝损坏的长度，避免分配过大的数组。
+     */
+    static final int MAX_VALUE_BYTES = 16 * 1024 * 1024;
+
+    static final byte END = 0;
+
+    static final byte RECORD = 1;
+
+    static final byte TYPE_BYTE = 1;
+    static final byte TYPE_SHORT = 2;
+    static final byte TYPE_INT = 3;
+    static final byte TYPE_LONG = 4;
+    static final byte TYPE_FLOAT = 5;
+    static final byte TYPE_DOUBLE = 6;
+    static final byte TYPE_STRING = 7;
+    static final byte TYPE_BOOLEAN = 8;
+    static final byte TYPE_BYTE_ARRAY = 9;
+    static final byte TYPE_INT_ARRAY = 10;
+    static final byte TYPE_LONG_ARRAY = 11;
+
+    private ItemRecordFormat() {
+    }
+
+    static byte typeOf(Class<?> complexType) {
+        if (complexType == Byte.class) return TYPE_BYTE;
+        if (complexType == Short.class) return TYPE_SHORT;
+        if (complexType == Integer.class) return TYPE_INT;
+        if (complexType == Long.class) return TYPE_LONG;
+        if (complexType == Float.class) return TYPE_FLOAT;
+        if (complexType == Double.class) return TYPE_DOUBLE;
+        if (complexType == String.class) return TYPE_STRING;
+        if (complexType == Boolean.class) return TYPE_BOOLEAN;
+        if (complexType == byte[].class) return TYPE_BYTE_ARRAY;
+        if (complexType == int[].class) return TYPE_INT_ARRAY;
+        if (complexType == long[].class) return TYPE_LONG_ARRAY;
+        throw new IllegalArgumentException("unsupported attribute type: " + complexType.getName());
+    }
+}
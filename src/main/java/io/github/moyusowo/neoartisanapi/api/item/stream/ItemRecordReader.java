@@ -0,0 +1,266 @@
+package io.github.moyusowo.neoartisanapi.api.item.stream;
+
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.github.moyusowo.neoartisanapi.api.item.stream.ItemRecordFormat.*;
+
+/**
+ * 从通道流式读取 {@link ItemRecordWriter} 写入的物品记录。
+ *
+ * <p>读取器先解析流开头的字典，把写入时的数字ID映射回注册ID，再映射到当前注册表中的数字ID，
+ * 因此写入后发生的重启或重载不会影响还原结果。已被移除的物品仍会被读出，
+ * 其 {@link ItemRecord#numericId()} 为 {@link ItemRegistry#NO_NUMERIC_ID}。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * try (FileChannel channel = FileChannel.open(path, READ)) {
+ *     ItemRecordReader reader = new ItemRecordReader(channel);
+ *     ItemRecord record;
+ *     while ((record = reader.next()) != null) {
+ *         index.add(record.registryId(), record.count(), record.attributes());
+ *     }
+ * }
+ * }</pre>
+ *
+ * @apiNote 读取器本身不是线程安全的，可以在异步线程使用。读取器不会关闭通道
+ * @see ItemRecordWriter
+ */
+@SuppressWarnings("unused")
+public final class ItemRecordReader {
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final NamespacedKey[] itemKeys;
+
+    private final int[] currentIds;
+
+    private final NamespacedKey[] attributeKeys;
+
+    private final byte[] types;
+
+    private boolean finished;
+
+    /**
+     * 使用当前的物品注册表创建读取器，并立即读取字典。
+     *
+     * @param channel 来源通道（不能为null）
+     * @throws IOException 如果读取通道失败或数据格式无效
+     */
+    public ItemRecordReader(@NotNull ReadableByteChannel channel) throws IOException {
+        this(channel, ItemRegistry.getItemRegistryManager());
+    }
+
+    /**
+     * 使用指定的物品注册表创建读取器，并立即读取字典。
+     *
+     * @param channel 来源通道（不能为null）
+     * @param registry 用于映射数字ID的物品注册表（不能为null）
+     * @throws IOException 如果读取通道失败或数据格式无效
+     */
+    public ItemRecordReader(@NotNull ReadableByteChannel channel, @NotNull ItemRegistry registry) throws IOException {
+        this.channel = channel;
+        buffer.limit(0);
+        require(8);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("not an item record stream");
+        }
+        final int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported item record stream version: " + version);
+        }
+        require(4);
+        final int idCount = checkLength(buffer.getInt(), MAX_ENTRIES);
+        itemKeys = new NamespacedKey[idCount];
+        currentIds = new int[idCount];
+        for (int i = 0; i < idCount; i++) {
+            final String key = getString();
+            itemKeys[i] = key.isEmpty() ? null : parseKey(key);
+            currentIds[i] = itemKeys[i] == null ? ItemRegistry.NO_NUMERIC_ID : registry.getNumericId(itemKeys[i]);
+        }
+        require(4);
+        final int attributeCount = checkLength(buffer.getInt(), MAX_ENTRIES);
+        attributeKeys = new NamespacedKey[attributeCount];
+        types = new byte[attributeCount];
+        for (int i = 0; i < attributeCount; i++) {
+            attributeKeys[i] = parseKey(getString());
+            require(1);
+            types[i] = buffer.get();
+            if (types[i] < TYPE_BYTE || types[i] > TYPE_LONG_ARRAY) {
+                throw new IOException("corrupt attribute dictionary");
+            }
+        }
+    }
+
+    /**
+     * 读取下一条记录。
+     *
+     * @return 下一条记录，读到结束标记时返回null
+     * @throws IOException 如果读取通道失败、数据格式无效或流在结束标记之前终止
+     */
+    public @Nullable ItemRecord next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        require(1);
+        final byte tag = buffer.get();
+        if (tag == END) {
+            finished = true;
+            return null;
+        }
+        if (tag != RECORD) {
+            throw new IOException("corrupt record tag: " + tag);
+        }
+        final int storedId = getVarInt();
+        if (storedId < 0 || storedId >= itemKeys.length || itemKeys[storedId] == null) {
+            throw new IOException("unknown numeric id in record: " + storedId);
+        }
+        final int count = getVarInt();
+        final int present = getVarInt();
+        final Map<NamespacedKey, Object> attributes;
+        if (present == 0) {
+            attributes = Collections.emptyMap();
+        } else {
+            attributes = new HashMap<>(present * 2);
+            for (int i = 0; i < present; i++) {
+                final int index = getVarInt();
+                if (index < 0 || index >= attributeKeys.length) {
+                    throw new IOException("unknown attribute index in record: " + index);
+                }
+                attributes.put(attributeKeys[index], getValue(types[index]));
+            }
+        }
+        return new ItemRecord(itemKeys[storedId], currentIds[storedId], count, Collections.unmodifiableMap(attributes));
+    }
+
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("item record stream ended unexpectedly");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static NamespacedKey parseKey(String key) throws IOException {
+        final NamespacedKey parsed;
+        try {
+            parsed = NamespacedKey.fromString(key);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt key in dictionary: " + key, e);
+        }
+        if (parsed == null) {
+            throw new IOException("corrupt key in dictionary: " + key);
+        }
+        return parsed;
+    }
+
+    private static int checkLength(int length, int max) throws IOException {
+        if (length < 0 || length > max) {
+            throw new IOException("corrupt length: " + length);
+        }
+        return length;
+    }
+
+    private int getVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            require(1);
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("corrupt varint");
+    }
+
+    private byte[] getBytes() throws IOException {
+        final byte[] bytes = new byte[checkLength(getVarInt(), MAX_VALUE_BYTES)];
+        int offset = 0;
+        while (offset < bytes.length) {
+            require(1);
+            final int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return bytes;
+    }
+
+    private String getString() throws IOException {
+        return new String(getBytes(), StandardCharsets.UTF_8);
+    }
+
+    private Object getValue(byte type) throws IOException {
+        switch (type) {
+            case TYPE_BYTE -> {
+                require(1);
+                return buffer.get();
+            }
+            case TYPE_SHORT -> {
+                require(2);
+                return buffer.getShort();
+            }
+            case TYPE_INT -> {
+                require(4);
+                return buffer.getInt();
+            }
+            case TYPE_LONG -> {
+                require(8);
+                return buffer.getLong();
+            }
+            case TYPE_FLOAT -> {
+                require(4);
+                return buffer.getFloat();
+            }
+            case TYPE_DOUBLE -> {
+                require(8);
+                return buffer.getDouble();
+            }
+            case TYPE_STRING -> {
+                return getString();
+            }
+            case TYPE_BOOLEAN -> {
+                require(1);
+                return buffer.get() != 0;
+            }
+            case TYPE_BYTE_ARRAY -> {
+                return getBytes();
+            }
+            case TYPE_INT_ARRAY -> {
+                final int[] array = new int[checkLength(getVarInt(), MAX_VALUE_BYTES / Integer.BYTES)];
+                for (int i = 0; i < array.length; i++) {
+                    require(4);
+                    array[i] = buffer.getInt();
+                }
+                return array;
+            }
+            case TYPE_LONG_ARRAY -> {
+                final long[] array = new long[checkLength(getVarInt(), MAX_VALUE_BYTES / Long.BYTES)];
+                for (int i = 0; i < array.length; i++) {
+                    require(8);
+                    array[i] = buffer.getLong();
+                }
+                return array;
+            }
+            default -> throw new IOException("unknown type tag: " + type);
+        }
+    }
+}
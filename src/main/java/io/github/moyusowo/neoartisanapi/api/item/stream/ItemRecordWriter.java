@@ -0,0 +1,311 @@
+package io.github.moyusowo.neoartisanapi.api.item.stream;
+
+import io.github.moyusowo.neoartisanapi.api.attribute.AttributeKey;
+import io.github.moyusowo.neoartisanapi.api.item.ArtisanItem;
+import io.github.moyusowo.neoartisanapi.api.item.ItemInspector;
+import io.github.moyusowo.neoartisanapi.api.item.ItemRegistry;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static io.github.moyusowo.neoartisanapi.api.item.stream.ItemRecordFormat.*;
+
+/**
+ * 把自定义物品堆编码为紧凑记录并流式写入通道。
+ *
+ * <p>每条记录只包含物品的数字ID、数量和指定的物品堆属性值，属性值按其PDC类型对应的Java类型直接编码，
+ * 不经过Bukkit的物品堆序列化。流的开头是一份字典，记录写入时每个数字ID对应的注册ID和每个属性的类型，
+ * 因此即使重启或重载后数字ID发生变化，{@link ItemRecordReader} 也能正确还原。</p>
+ *
+ * <p>记录先写入一块堆外缓冲区，缓冲区写满时才整体写入通道，适合向文件、套接字或管道导出上百万条拍卖行挂单。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+ *     ItemRecordWriter writer = new ItemRecordWriter(channel, List.of(ownerKey, levelKey));
+ *     for (ItemStack itemStack : listings) {
+ *         writer.write(itemStack);
+ *     }
+ *     writer.finish();
+ * }
+ * }</pre>
+ *
+ * @apiNote 写入器本身不是线程安全的；读取物品堆通过 {@link ItemInspector} 完成，可以在异步线程使用。
+ * 写入器不会关闭通道
+ * @see ItemRecordReader
+ */
+@SuppressWarnings("unused")
+public final class ItemRecordWriter {
+
+    private final WritableByteChannel channel;
+
+    private final ItemInspector inspector;
+
+    private final AttributeKey<?>[] attributes;
+
+    private final byte[] types;
+
+    private final Object[] values;
+
+    private final int idCount;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private long recordCount;
+
+    private boolean finished;
+
+    /**
+     * 使用当前的物品注册表创建写入器，并立即写入字典。
+     *
+     * @param channel 目标通道（不能为null）
+     * @param attributes 需要导出的物品堆属性（不能为null）
+     * @throws IOException 如果写入通道失败
+     * @throws IllegalArgumentException 如果某个属性的类型无法编码
+     */
+    public ItemRecordWriter(@NotNull WritableByteChannel channel, @NotNull List<? extends AttributeKey<?>> attributes) throws IOException {
+        this(channel, ItemRegistry.getItemRegistryManager(), attributes);
+    }
+
+    /**
+     * 使用指定的物品注册表创建写入器，并立即写入字典。
+     *
+     * <p>支持的属性类型为 {@code byte}、{@code short}、{@code int}、{@code long}、{@code float}、
+     * {@code double}、{@code boolean}、{@link String} 以及 {@code byte[]}、{@code int[]}、{@code long[]}。</p>
+     *
+     * @param channel 目标通道（不能为null）
+     * @param registry 物品注册表（不能为null）
+     * @param attributes 需要导出的物品堆属性（不能为null）
+     * @throws IOException 如果写入通道失败
+     * @throws IllegalArgumentException 如果某个属性的类型无法编码
+     */
+    public ItemRecordWriter(@NotNull WritableByteChannel channel, @NotNull ItemRegistry registry, @NotNull List<? extends AttributeKey<?>> attributes) throws IOException {
+        this.channel = channel;
+        this.inspector = registry.getInspector();
+        this.attributes = attributes.toArray(new AttributeKey<?>[0]);
+        checkLength(this.attributes.length, MAX_ENTRIES);
+        this.types = new byte[this.attributes.length];
+        this.values = new Object[this.attributes.length];
+        for (int i = 0; i < this.attributes.length; i++) {
+            types[i] = typeOf(this.attributes[i].getPDCType().getComplexType());
+        }
+        buffer.putInt(MAGIC).putInt(VERSION);
+        this.idCount = checkLength(registry.getNumericIdCount(), MAX_ENTRIES);
+        buffer.putInt(idCount);
+        for (int i = 0; i < idCount; i++) {
+            final ArtisanItem item = registry.getArtisanItem(i);
+            putString(item == null ? "" : item.getRegistryId().asString());
+        }
+        ensure(4);
+        buffer.putInt(this.attributes.length);
+        for (int i = 0; i < this.attributes.length; i++) {
+            putString(this.attributes[i].getKey().asString());
+            ensure(1);
+            buffer.put(types[i]);
+        }
+    }
+
+    /**
+     * 写入一个物品堆的记录。
+     *
+     * <p>只写入字典中已有的物品。写入器创建之后由重载新增的物品，其数字ID不小于字典大小，
+     * 读取器无法解析，因此与非自定义物品一样被跳过。</p>
+     *
+     * @param itemStack 物品堆（可为null）
+     * @return 如果物品堆是字典中已有的自定义物品并已写入返回true，否则跳过并返回false
+     * @throws IOException 如果写入通道失败
+     * @throws IllegalArgumentException 如果某个字符串或数组属性值超过16MiB
+     * @throws IllegalStateException 如果已调用 {@link #finish()}
+     */
+    public boolean write(@Nullable ItemStack itemStack) throws IOException {
+        checkOpen();
+        final int numericId = inspector.getNumericId(itemStack);
+        // 写入期间发生重载时新分配的数字ID不在字典中，与 ItemScan 一样直接忽略
+        if (numericId < 0 || numericId >= idCount) {
+            return false;
+        }
+        int present = 0;
+        for (int i = 0; i < attributes.length; i++) {
+            values[i] = inspector.getItemstackAttributeValue(itemStack, attributes[i]);
+            if (values[i] != null) {
+                // 写入记录之前完成全部校验，超限的值不会留下写了一半的记录
+                values[i] = checkValue(types[i], values[i]);
+                present++;
+            }
+        }
+        ensure(1);
+        buffer.put(RECORD);
+        putVarInt(numericId);
+        putVarInt(itemStack.getAmount());
+        putVarInt(present);
+        for (int i = 0; i < attributes.length; i++) {
+            if (values[i] != null) {
+                putVarInt(i);
+                putValue(types[i], values[i]);
+                values[i] = null;
+            }
+        }
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * 把缓冲区中的记录写入通道。
+     *
+     * @throws IOException 如果写入通道失败
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 写入结束标记并刷新缓冲区，之后不能再写入记录。
+     *
+     * <p>重复调用不会产生任何效果。</p>
+     *
+     * @throws IOException 如果写入通道失败
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        ensure(1);
+        buffer.put(END);
+        flush();
+        finished = true;
+    }
+
+    /**
+     * 获取已写入的记录数量。
+     *
+     * @return 记录数量
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("writer already finished");
+        }
+    }
+
+    private static Object checkValue(byte type, Object value) {
+        switch (type) {
+            case TYPE_STRING -> {
+                final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                checkLength(bytes.length, MAX_VALUE_BYTES);
+                return bytes;
+            }
+            case TYPE_BYTE_ARRAY -> checkLength(((byte[]) value).length, MAX_VALUE_BYTES);
+            case TYPE_INT_ARRAY -> checkLength(((int[]) value).length, MAX_VALUE_BYTES / Integer.BYTES);
+            case TYPE_LONG_ARRAY -> checkLength(((long[]) value).length, MAX_VALUE_BYTES / Long.BYTES);
+            default -> {
+            }
+        }
+        return value;
+    }
+
+    private static int checkLength(int length, int max) {
+        if (length > max) {
+            throw new IllegalArgumentException("length " + length + " exceeds the stream limit " + max);
+        }
+        return length;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void putVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        checkLength(bytes.length, MAX_VALUE_BYTES);
+        putVarInt(bytes.length);
+        if (bytes.length > buffer.capacity()) {
+            flush();
+            final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+            return;
+        }
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void putString(String value) throws IOException {
+        putBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void putValue(byte type, Object value) throws IOException {
+        switch (type) {
+            case TYPE_BYTE -> {
+                ensure(1);
+                buffer.put((Byte) value);
+            }
+            case TYPE_SHORT -> {
+                ensure(2);
+                buffer.putShort((Short) value);
+            }
+            case TYPE_INT -> {
+                ensure(4);
+                buffer.putInt((Integer) value);
+            }
+            case TYPE_LONG -> {
+                ensure(8);
+                buffer.putLong((Long) value);
+            }
+            case TYPE_FLOAT -> {
+                ensure(4);
+                buffer.putFloat((Float) value);
+            }
+            case TYPE_DOUBLE -> {
+                ensure(8);
+                buffer.putDouble((Double) value);
+            }
+            case TYPE_STRING -> putBytes((byte[]) value);
+            case TYPE_BOOLEAN -> {
+                ensure(1);
+                buffer.put((byte) ((Boolean) value ? 1 : 0));
+            }
+            case TYPE_BYTE_ARRAY -> putBytes((byte[]) value);
+            case TYPE_INT_ARRAY -> {
+                final int[] array = (int[]) value;
+                putVarInt(array.length);
+                for (int element : array) {
+                    ensure(4);
+                    buffer.putInt(element);
+                }
+            }
+            case TYPE_LONG_ARRAY -> {
+                final long[] array = (long[]) value;
+                putVarInt(array.length);
+                for (long element : array) {
+                    ensure(8);
+                    buffer.putLong(element);
+                }
+            }
+            default -> throw new IllegalStateException("unknown type tag: " + type);
+        }
+    }
+}
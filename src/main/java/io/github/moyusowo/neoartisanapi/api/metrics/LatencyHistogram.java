@@ -0,0 +1,123 @@
+package io.github.moyusowo.neoartisanapi.api.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 以2的幂为桶边界的延迟直方图。
+ *
+ * <p>第i个桶统计 {@code [2^i, 2^(i+1))} 纳秒范围内的样本（第0个桶包括0），
+ * 记录一次样本只是一次前导零计算和一次 {@link LongAdder} 自增，可以在任意线程并发调用。
+ * 分位数按桶上界估算，误差不超过两倍，足以发现热点路径上的异常耗时。</p>
+ */
+@SuppressWarnings("unused")
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一个样本。
+     *
+     * @param nanos 耗时（纳秒），负数按0处理
+     */
+    public void record(long nanos) {
+        final long value = Math.max(nanos, 0L);
+        buckets[bucketOf(value)].increment();
+        totalNanos.add(value);
+    }
+
+    /**
+     * 获取样本所在的桶。
+     *
+     * @param nanos 耗时（纳秒，不小于0）
+     * @return 桶下标
+     */
+    public static int bucketOf(long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * 获取桶的上界（不包含）。
+     *
+     * @param bucket 桶下标
+     * @return 上界（纳秒），最后一个桶返回 {@link Long#MAX_VALUE}
+     */
+    public static long upperBoundNanos(int bucket) {
+        return bucket >= 62 ? Long.MAX_VALUE : 1L << (bucket + 1);
+    }
+
+    /**
+     * @return 指定桶的样本数量
+     */
+    public long getBucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * @return 样本总数
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return 所有样本的耗时之和（纳秒）
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * 估算分位数。
+     *
+     * @param quantile 分位数（范围为 {@code [0, 1]}）
+     * @return 分位数所在桶的上界（纳秒），没有样本时返回0
+     * @throws IllegalArgumentException 如果分位数超出范围
+     */
+    public long getQuantileNanos(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be in [0, 1]: " + quantile);
+        }
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        final long target = Math.max(1L, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return upperBoundNanos(i);
+            }
+        }
+        return upperBoundNanos(BUCKETS - 1);
+    }
+
+    /**
+     * 清空所有样本。
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.moyusowo.neoartisanapi.api.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * 热点路径统计注册表API。
+ *
+ * <p>统计以下路径的调用次数和采样延迟：</p>
+ * <ul>
+ *   <li>物品注册表查询与物品堆创建</li>
+ *   <li>物品堆属性读写</li>
+ *   <li>配方匹配与缓存命中</li>
+ *   <li>作物生长事件与存储读写</li>
+ * </ul>
+ *
+ * <p>统计结果可以通过 {@code /neoartisan metrics} 命令查看，也可以按Prometheus文本格式定期写入本地文件。
+ * 统计关闭时各路径只有一次volatile读取的开销。</p>
+ *
+ * <p>通过 {@link org.bukkit.Bukkit#getServicesManager()} 获取实例。</p>
+ *
+ * @see HotPathMetric
+ */
+@SuppressWarnings("unused")
+public interface MetricsRegistry {
+
+    String ITEM_LOOKUP = "item_lookup";
+
+    String ITEM_STACK_CREATE = "item_stack_create";
+
+    String ATTRIBUTE_READ = "attribute_read";
+
+    String ATTRIBUTE_WRITE = "attribute_write";
+
+    String RECIPE_MATCH = "recipe_match";
+
+    String RECIPE_CACHE_HIT = "recipe_cache_hit";
+
+    String CROP_GROWTH = "crop_growth";
+
+    String CROP_STORAGE_IO = "crop_storage_io";
+
+    /**
+     * 获取热点路径统计注册表的实例。
+     *
+     * @return 热点路径统计注册表的实例
+     */
+    static MetricsRegistry getMetricsRegistryManager() {
+        return Services.METRICS_REGISTRY.get();
+    }
+
+    /**
+     * 获取或创建指定名称的指标。
+     *
+     * @param name 指标名称，只能包含小写字母、数字和下划线
+     * @param description 指标说明，仅在创建时使用
+     * @return 指标实例（不会为null），同名指标总是返回同一个实例
+     * @throws IllegalArgumentException 如果名称不合法
+     */
+    @NotNull HotPathMetric metric(@NotNull String name, @NotNull String description);
+
+    /**
+     * @param name 指标名称
+     * @return 指标实例，如果不存在返回null
+     */
+    @Nullable HotPathMetric getMetric(@NotNull String name);
+
+    /**
+     * @return 所有指标（不会为null）
+     */
+    @NotNull Collection<HotPathMetric> getMetrics();
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return 采样率，每多少次调用记录一次耗时
+     */
+    int getSampleRate();
+
+    /**
+     * @param sampleRate 采样率，会向上取整为2的幂
+     * @throws IllegalArgumentException 如果sampleRate小于1
+     */
+    void setSampleRate(int sampleRate);
+
+    /**
+     * 清空所有指标的计数和延迟样本。
+     */
+    void reset();
+
+    /**
+     * @return Prometheus文本格式的统计结果（不会为null）
+     */
+    @NotNull String toPrometheusText();
+
+    /**
+     * 以Prometheus文本格式写入文件，先写入临时文件再替换，读取方不会看到写了一半的内容。
+     *
+     * @param file 目标文件（不能为null）
+     * @throws IOException 如果写入失败
+     */
+    void writePrometheusText(@NotNull Path file) throws IOException;
+}
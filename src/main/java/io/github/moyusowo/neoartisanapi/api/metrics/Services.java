@@ -0,0 +1,11 @@
+package io.github.moyusowo.neoartisanapi.api.metrics;
+
+import io.github.moyusowo.neoartisanapi.api.service.ServiceHolder;
+
+final class Services {
+
+    static final ServiceHolder<MetricsRegistry> METRICS_REGISTRY = ServiceHolder.of(MetricsRegistry.class);
+
+    private Services() {
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.moyusowo.neoartisanapi.api.recipe;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * 合成网格的规范化签名，用作配方索引的哈希键。
+ *
+ * <p>网格中的每个格子用一个整数标识物品（自定义物品使用其数字ID，原版物品由实现映射到不冲突的整数，
+ * 空格子使用 {@link #EMPTY_SLOT}）。签名分为两种：</p>
+ * <ul>
+ *   <li><b>有序签名</b> - 去掉四周的空行和空列后的形状及物品标识，
+ *   摆放在网格任意位置的同一形状得到相同的签名</li>
+ *   <li><b>无序签名</b> - 去掉空格子后按升序排列的物品标识多重集合</li>
+ * </ul>
+ *
+ * <p>签名在创建时计算哈希值，实例不可变，可以安全地用作 {@link java.util.HashMap} 的键。
+ * 配方注册时按配方内容生成签名建立索引，合成时按网格生成签名查询，查询开销与已注册的配方数量无关。</p>
+ *
+ * @see RecipeRegistry#matchRecipe(org.bukkit.inventory.ItemStack[])
+ */
+@SuppressWarnings("unused")
+public final class CraftingGridKey {
+
+    /**
+     * 表示空格子的物品标识。
+     */
+    public static final int EMPTY_SLOT = Integer.MIN_VALUE;
+
+    private static final int[] NO_IDS = new int[0];
+
+    private final boolean shapeless;
+
+    private final int width;
+
+    private final int height;
+
+    private final int[] ids;
+
+    private final int hash;
+
+    private CraftingGridKey(boolean shapeless, int width, int height, int[] ids) {
+        this.shapeless = shapeless;
+        this.width = width;
+        this.height = height;
+        this.ids = ids;
+        int h = shapeless ? 1 : 31 * width + height;
+        h = 31 * h + Arrays.hashCode(ids);
+        this.hash = h ^ (h >>> 16);
+    }
+
+    /**
+     * 根据网格创建有序签名。
+     *
+     * @param slots 按行排列的格子物品标识（不能为null，长度必须是width的整数倍）
+     * @param width 网格宽度（工作台为3，玩家背包为2）
+     * @return 去掉四周空行空列后的有序签名（不会为null），全空网格返回宽高均为0的签名
+     * @throws IllegalArgumentException 如果width不大于0或slots长度不是width的整数倍
+     */
+    public static @NotNull CraftingGridKey shaped(int @NotNull [] slots, int width) {
+        if (width <= 0 || slots.length % width != 0) {
+            throw new IllegalArgumentException("invalid crafting grid: length=" + slots.length + ", width=" + width);
+        }
+        final int height = slots.length / width;
+        int minX = width, minY = height, maxX = -1, maxY = -1;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (slots[y * width + x] != EMPTY_SLOT) {
+                    if (x < minX) minX = x;
+                    if (x > maxX) maxX = x;
+                    if (y < minY) minY = y;
+                    if (y > maxY) maxY = y;
+                }
+            }
+        }
+        if (maxX < 0) {
+            return new CraftingGridKey(false, 0, 0, NO_IDS);
+        }
+        final int trimmedWidth = maxX - minX + 1;
+        final int trimmedHeight = maxY - minY + 1;
+        final int[] ids = new int[trimmedWidth * trimmedHeight];
+        for (int y = 0; y < trimmedHeight; y++) {
+            System.arraycopy(slots, (minY + y) * width + minX, ids, y * trimmedWidth, trimmedWidth);
+        }
+        return new CraftingGridKey(false, trimmedWidth, trimmedHeight, ids);
+    }
+
+    /**
+     * 根据网格或配方材料创建无序签名。
+     *
+     * @param slots 格子物品标识（不能为null，其中的 {@link #EMPTY_SLOT} 会被忽略）
+     * @return 无序签名（不会为null）
+     */
+    public static @NotNull CraftingGridKey shapeless(int @NotNull [] slots) {
+        int count = 0;
+        for (int id : slots) {
+            if (id != EMPTY_SLOT) count++;
+        }
+        final int[] ids = new int[count];
+        int i = 0;
+        for (int id : slots) {
+            if (id != EMPTY_SLOT) ids[i++] = id;
+        }
+        Arrays.sort(ids);
+        return new CraftingGridKey(true, 0, 0, ids);
+    }
+
+    /**
+     * 获取左右镜像后的有序签名。
+     *
+     * <p>原版有序配方同时匹配镜像摆放，实现可以在注册时把镜像签名一并加入索引，使查询只需一次哈希查找。</p>
+     *
+     * @return 镜像签名（不会为null），无序签名和左右对称的签名返回自身
+     */
+    public @NotNull CraftingGridKey mirrored() {
+        if (shapeless || width <= 1) {
+            return this;
+        }
+        final int[] mirrored = new int[ids.length];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                mirrored[y * width + x] = ids[y * width + (width - 1 - x)];
+            }
+        }
+        if (Arrays.equals(mirrored, ids)) {
+            return this;
+        }
+        return new CraftingGridKey(false, width, height, mirrored);
+    }
+
+    /**
+     * 检查是否为无序签名。
+     *
+     * @return 如果是无序签名返回true
+     */
+    public boolean isShapeless() {
+        return shapeless;
+    }
+
+    /**
+     * 检查签名是否不包含任何物品。
+     *
+     * @return 如果不包含任何物品返回true
+     */
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * 获取有序签名去除空行空列后的宽度。
+     *
+     * @return 宽度，无序签名返回0
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * 获取有序签名去除空行空列后的高度。
+     *
+     * @return 高度，无序签名返回0
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * 获取签名包含的标识数量。
+     *
+     * <p>有序签名包括形状内部的空格子，无序签名只包括物品。</p>
+     *
+     * @return 标识数量
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 获取指定下标的物品标识。
+     *
+     * <p>有序签名按行排列，下标为 {@code y * width() + x}；无序签名按升序排列。</p>
+     *
+     * @param index 下标（范围为 {@code [0, size())}）
+     * @return 物品标识
+     * @throws IndexOutOfBoundsException 如果下标越界
+     */
+    public int get(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CraftingGridKey other)) return false;
+        return hash == other.hash
+                && shapeless == other.shapeless
+                && width == other.width
+                && height == other.height
+                && Arrays.equals(ids, other.ids);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return (shapeless ? "CraftingGridKey{shapeless, ids=" : "CraftingGridKey{" + width + "x" + height + ", ids=")
+                + Arrays.toString(ids) + "}";
+    }
+}
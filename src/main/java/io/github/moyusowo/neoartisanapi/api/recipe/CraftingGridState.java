@@ -0,0 +1,146 @@
+package io.github.moyusowo.neoartisanapi.api.recipe;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * 单个合成界面的网格状态，用于增量地重新计算匹配结果。
+ *
+ * <p>玩家拖拽或Shift点击物品时，同一个合成界面会在一刻内多次触发
+ * {@link org.bukkit.event.inventory.PrepareItemCraftEvent}，而网格通常只变化了数量或根本没变。
+ * 本类记录每个格子上一次的物品堆与物品标识：</p>
+ * <ul>
+ *   <li>只有物品种类或组件发生变化的格子才会重新解析物品标识，仅数量变化的格子直接复用</li>
+ *   <li>所有格子的物品标识都未变化时，{@link #update(ItemStack[], ToIntFunction)} 返回false，
+ *   可以直接复用 {@link #getResult()}</li>
+ *   <li>网格签名按需计算并缓存，直到下一次物品标识变化</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * CraftingGridState state = states.computeIfAbsent(inventory, i -> new CraftingGridState());
+ * if (state.update(inventory.getMatrix(), resolver)) {
+ *     state.setResult(lookup(state.getShapedKey(), state.getShapelessKey()));
+ * }
+ * inventory.setResult(state.getResult());
+ * }</pre>
+ *
+ * @apiNote 实例应与合成界面一一对应，在界面关闭时丢弃；不保证线程安全
+ * @see RecipeRegistry#matchRecipe(org.bukkit.inventory.CraftingInventory)
+ */
+@SuppressWarnings("unused")
+public final class CraftingGridState {
+
+    private ItemStack[] snapshot = new ItemStack[0];
+
+    private int[] ids = new int[0];
+
+    private int width;
+
+    private CraftingGridKey shapedKey;
+
+    private CraftingGridKey shapelessKey;
+
+    private ItemStack result;
+
+    /**
+     * 用新的网格内容更新状态。
+     *
+     * @param matrix 合成网格中的物品堆（不能为null，长度为4或9，按行排列，空格子可为null）
+     * @param resolver 物品标识解析函数，只会对发生变化的非空格子调用
+     * @return 如果任意格子的物品标识发生变化返回true，此时需要重新匹配并调用 {@link #setResult(ItemStack)}
+     * @throws IllegalArgumentException 如果网格长度不是4或9
+     */
+    public boolean update(@Nullable ItemStack @NotNull [] matrix, @NotNull ToIntFunction<ItemStack> resolver) {
+        if (matrix.length != 4 && matrix.length != 9) {
+            throw new IllegalArgumentException("crafting matrix must have 4 or 9 slots: " + matrix.length);
+        }
+        boolean changed = false;
+        if (snapshot.length != matrix.length) {
+            snapshot = new ItemStack[matrix.length];
+            ids = new int[matrix.length];
+            Arrays.fill(ids, CraftingGridKey.EMPTY_SLOT);
+            width = matrix.length == 4 ? 2 : 3;
+            changed = true;
+        }
+        for (int i = 0; i < matrix.length; i++) {
+            final ItemStack current = matrix[i] == null || matrix[i].isEmpty() ? null : matrix[i];
+            final ItemStack previous = snapshot[i];
+            if (current == null) {
+                if (previous != null) {
+                    snapshot[i] = null;
+                    changed |= ids[i] != CraftingGridKey.EMPTY_SLOT;
+                    ids[i] = CraftingGridKey.EMPTY_SLOT;
+                }
+                continue;
+            }
+            if (previous != null && previous.isSimilar(current)) {
+                continue;
+            }
+            snapshot[i] = current.clone();
+            final int id = resolver.applyAsInt(current);
+            if (id != ids[i]) {
+                ids[i] = id;
+                changed = true;
+            }
+        }
+        if (changed) {
+            shapedKey = null;
+            shapelessKey = null;
+            result = null;
+        }
+        return changed;
+    }
+
+    /**
+     * 获取当前网格的有序签名。
+     *
+     * @return 有序签名（不会为null）
+     * @see CraftingGridKey#shaped(int[], int)
+     */
+    public @NotNull CraftingGridKey getShapedKey() {
+        if (shapedKey == null) {
+            shapedKey = CraftingGridKey.shaped(ids, Math.max(width, 1));
+        }
+        return shapedKey;
+    }
+
+    /**
+     * 获取当前网格的无序签名。
+     *
+     * @return 无序签名（不会为null）
+     * @see CraftingGridKey#shapeless(int[])
+     */
+    public @NotNull CraftingGridKey getShapelessKey() {
+        if (shapelessKey == null) {
+            shapelessKey = CraftingGridKey.shapeless(ids);
+        }
+        return shapelessKey;
+    }
+
+    /**
+     * 获取缓存的匹配结果。
+     *
+     * <p>每次返回缓存结果的副本，调用方可以直接修改或交给物品栏持有，不会影响之后的匹配。</p>
+     *
+     * @return 上一次设置的匹配结果的副本，如果网格变化后尚未设置或没有匹配的配方返回null
+     */
+    public @Nullable ItemStack getResult() {
+        return result == null ? null : result.clone();
+    }
+
+    /**
+     * 设置当前网格的匹配结果。
+     *
+     * <p>保存的是传入物品堆的副本，之后修改传入的实例不会影响缓存。</p>
+     *
+     * @param result 匹配结果，没有匹配的配方时传入null
+     */
+    public void setResult(@Nullable ItemStack result) {
+        this.result = result == null ? null : result.clone();
+    }
+}
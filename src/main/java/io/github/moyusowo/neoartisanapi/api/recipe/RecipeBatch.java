@@ -0,0 +1,90 @@
+package io.github.moyusowo.neoartisanapi.api.recipe;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 配方批量注册会话。
+ *
+ * <p>通过 {@link RecipeRegistry#beginBatch()} 创建。从会话创建的配方在调用 {@code build()} 时不会立即注册，
+ * 而是暂存在会话中；调用 {@link #commit()} 时统一校验全部配方，一次性写入配方索引，
+ * 并且只向服务器和在线玩家同步一次配方。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * RecipeBatch batch = RecipeRegistry.getRecipeRegistryManager().beginBatch();
+ * for (RecipeConfig config : configs) {
+ *     ArtisanShapelessRecipe recipe = batch.createShapelessRecipe(config.result(), config.count());
+ *     recipe.add(config.inputs());
+ *     recipe.build();
+ * }
+ * RecipeBatchResult result = batch.commit();
+ * plugin.getLogger().info("loaded " + result.recipeCount() + " recipes in " + result.totalMillis() + " ms");
+ * }</pre>
+ *
+ * @apiNote 会话只能提交或丢弃一次，之后调用任何方法都会抛出 {@link IllegalStateException}；请在主线程调用
+ * @see RecipeRegistry#beginBatch()
+ */
+@SuppressWarnings("unused")
+public interface RecipeBatch {
+
+    /**
+     * 在本会话中创建有序合成配方模板。
+     *
+     * @param line1 第一行配方模式（3字符，不能为null）
+     * @param line2 第二行配方模式（3字符，不能为null）
+     * @param line3 第三行配方模式（3字符，不能为null）
+     * @return 配方构建器实例（不会为null）
+     * @throws IllegalArgumentException 如果格式不符合3字符长度或含非法字符
+     * @see RecipeRegistry#createShapedRecipe(String, String, String)
+     */
+    @NotNull
+    ArtisanShapedRecipe createShapedRecipe(@NotNull String line1, @NotNull String line2, @NotNull String line3);
+
+    /**
+     * 在本会话中创建基础无序合成配方模板。
+     *
+     * @return 配方构建器实例（不会为null）
+     * @see RecipeRegistry#createShapelessRecipe()
+     */
+    @NotNull
+    ArtisanShapelessRecipe createShapelessRecipe();
+
+    /**
+     * 在本会话中创建预设结果的无序合成配方模板。
+     *
+     * @param result 合成结果物品ID（不能为null）
+     * @param count 产出数量（不能超过堆叠上限）
+     * @return 配方构建器实例（不会为null）
+     * @throws IllegalArgumentException 如果数量超出范围或物品未注册
+     * @see RecipeRegistry#createShapelessRecipe(NamespacedKey, int)
+     */
+    @NotNull
+    ArtisanShapelessRecipe createShapelessRecipe(@NotNull NamespacedKey result, int count);
+
+    /**
+     * 获取会话中已构建、等待提交的配方数量。
+     *
+     * @return 等待提交的配方数量
+     */
+    int size();
+
+    /**
+     * 提交会话中的全部配方。
+     *
+     * <p>先校验全部配方，任何一个配方无效时都不会注册任何配方；校验通过后一次性写入配方索引，
+     * 最后只进行一次服务器配方同步。</p>
+     *
+     * @return 本次提交的统计结果（不会为null）
+     * @throws IllegalArgumentException 如果存在无效配方
+     * @throws IllegalStateException 如果会话已提交或已丢弃
+     */
+    @NotNull RecipeBatchResult commit();
+
+    /**
+     * 丢弃会话中的全部配方，不注册任何配方。
+     *
+     * @throws IllegalStateException 如果会话已提交或已丢弃
+     */
+    void discard();
+}
@@ -0,0 +1,34 @@
+package io.github.moyusowo.neoartisanapi.api.recipe;
+
+/**
+ * 配方批量注册的统计结果。
+ *
+ * <p>各阶段耗时均以纳秒为单位。</p>
+ *
+ * @param recipeCount 本次注册的配方数量
+ * @param validateNanos 校验全部配方的耗时
+ * @param indexNanos 写入配方索引的耗时
+ * @param resyncNanos 向服务器和在线玩家同步配方的耗时
+ * @see RecipeBatch#commit()
+ */
+@SuppressWarnings("unused")
+public record RecipeBatchResult(int recipeCount, long validateNanos, long indexNanos, long resyncNanos) {
+
+    /**
+     * 获取整个批次的总耗时。
+     *
+     * @return 总耗时（纳秒）
+     */
+    public long totalNanos() {
+        return validateNanos + indexNanos + resyncNanos;
+    }
+
+    /**
+     * 获取整个批次的总耗时。
+     *
+     * @return 总耗时（毫秒）
+     */
+    public double totalMillis() {
+        return totalNanos() / 1_000_000.0;
+    }
+}
@@ -1,8 +1,12 @@
 package io.github.moyusowo.neoartisanapi.api.recipe;
 
-import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.CraftingInventory;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
 
 /**
  * 自定义合成配方注册表API，提供标准化的配方创建接口。
@@ -27,7 +31,7 @@ public interface RecipeRegistry {
      * @return 自定义合成配方注册表管理器的实例
      */
     static RecipeRegistry getRecipeRegistryManager() {
-        return Bukkit.getServicesManager().load(RecipeRegistry.class);
+        return Services.RECIPE_REGISTRY.get();
     }
 
     /**
@@ -76,4 +80,66 @@ public interface RecipeRegistry {
     @NotNull
     ArtisanShapelessRecipe createShapelessRecipe(NamespacedKey result, int count);
 
+    /**
+     * 开始一个配方批量注册会话。
+     *
+     * <p>大量加载或重载配方时，逐个调用 {@code build()} 会在每次注册后触发服务器配方同步，
+     * 通过批量会话可以把全部配方的校验、索引和同步合并为一次。</p>
+     *
+     * @return 新的批量注册会话（不会为null）
+     * @see RecipeBatch
+     */
+    @NotNull
+    RecipeBatch beginBatch();
+
+    /**
+     * 使引用指定物品的配方缓存失效。
+     *
+     * <p>以这些物品作为结果或材料的配方会重新构建结果物品堆和配方索引中的对应条目，
+     * 同时清空相关的合成界面匹配缓存；不引用这些物品的配方不受影响。
+     * 引用已被移除物品的配方会被注销。</p>
+     *
+     * @param itemIds 定义发生变化或被移除的物品ID（不能为null）
+     * @apiNote 请在主线程调用，通常由 {@link io.github.moyusowo.neoartisanapi.api.item.ItemRegistry#reloadItems(String, java.util.Collection)} 自动调用
+     */
+    void invalidateItems(@NotNull Collection<NamespacedKey> itemIds);
+
+    /**
+     * 按合成网格匹配已注册的自定义配方。
+     *
+     * <p>网格会被转换为 {@link CraftingGridKey} 签名，有序配方按去除空行空列后的形状签名查询，
+     * 无序配方按排序后的材料多重集合查询，相同网格签名的匹配结果会被缓存。
+     * 查询开销与已注册的配方数量无关。</p>
+     *
+     * @param matrix 合成网格中的物品堆（不能为null，长度为4或9，按行排列，空格子可为null）
+     * @return 匹配配方的结果物品堆，如果没有匹配的配方返回null
+     * @throws IllegalArgumentException 如果网格长度不是4或9
+     * @see CraftingGridKey
+     */
+    @Nullable
+    ItemStack matchRecipe(@Nullable ItemStack @NotNull [] matrix);
+
+    /**
+     * 按合成界面匹配已注册的自定义配方。
+     *
+     * <p>每个打开的合成界面都有独立的 {@link CraftingGridState}，记录上一次的网格签名与匹配结果，
+     * 只重新解析发生变化的格子；网格物品未变化时（包括只有数量变化）直接返回缓存结果。
+     * 界面关闭时状态会被自动释放。</p>
+     *
+     * @param inventory 合成界面（不能为null）
+     * @return 匹配配方的结果物品堆，如果没有匹配的配方返回null
+     * @see CraftingGridState
+     */
+    @Nullable
+    ItemStack matchRecipe(@NotNull CraftingInventory inventory);
+
+    /**
+     * 释放合成界面的网格状态缓存。
+     *
+     * <p>实现会在 {@link org.bukkit.event.inventory.InventoryCloseEvent} 时自动调用，通常无需手动调用。</p>
+     *
+     * @param inventory 合成界面（不能为null）
+     */
+    void releaseCraftingState(@NotNull CraftingInventory inventory);
+
 }
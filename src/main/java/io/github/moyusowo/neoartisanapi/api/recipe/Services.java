@@ -0,0 +1,11 @@
+package io.github.moyusowo.neoartisanapi.api.recipe;
+
+import io.github.moyusowo.neoartisanapi.api.service.ServiceHolder;
+
+final class Services {
+
+    static final ServiceHolder<RecipeRegistry> RECIPE_REGISTRY = ServiceHolder.of(RecipeRegistry.class);
+
+    private Services() {
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.moyusowo.neoartisanapi.api.registry;
+
+/**
+ * 具有冻结阶段的注册表。
+ *
+ * <p>注册表的生命周期分为两个阶段：</p>
+ * <ul>
+ *   <li><b>注册阶段</b> - 插件注册内容，此时读写都应在主线程进行</li>
+ *   <li><b>冻结阶段</b> - 注册表被冻结为不可变的 {@link RegistrySnapshot}，
+ *   之后的所有读取都只访问快照，无需加锁，可以在任意线程（例如异步聊天、发包或数据库线程）调用</li>
+ * </ul>
+ *
+ * <p>冻结是可选的，默认不会发生，注册阶段持续整个服务器运行期间，与没有冻结阶段时的行为完全相同。
+ * 需要异步读取的服务器可以通过以下任一方式进入冻结阶段：</p>
+ * <ul>
+ *   <li>在API插件的 {@code config.yml} 中开启 {@code registry.freeze-on-startup}，
+ *   注册表会在服务器启动后的第一个刻结束时冻结。此时最晚的注册时机是第一个刻，
+ *   即 {@code onEnable} 或其中通过 {@code runTask} 调度的任务；之后才加载的插件（例如插件管理器热加载的插件）无法再注册</li>
+ *   <li>由服务器的整合插件在确认所有内容注册完毕后调用 {@link #freeze()}</li>
+ * </ul>
+ *
+ * <p>实现可以在注册阶段同样以写时复制的方式发布快照，此时快照读取不需要等待冻结，
+ * 例如 {@link io.github.moyusowo.neoartisanapi.api.item.ItemRegistry} 的检查器和批量扫描。</p>
+ *
+ * <p>冻结后调用注册方法会抛出 {@link IllegalStateException}。重载时注册表会构建一份新的快照，
+ * 并通过一次引用写入原子地发布，正在进行的读取要么看到旧快照、要么看到新快照，不会看到中间状态。</p>
+ *
+ * @see RegistrySnapshot
+ */
+@SuppressWarnings("unused")
+public interface FreezableRegistry {
+
+    /**
+     * 检查注册表是否已冻结。
+     *
+     * @return 如果已冻结返回true
+     */
+    boolean isFrozen();
+
+    /**
+     * 冻结注册表，构建并发布只读快照。
+     *
+     * <p>重复调用不会产生任何效果。</p>
+     *
+     * @apiNote 应在主线程调用；调用后不能再注册新内容，请确认所有插件都已完成注册
+     */
+    void freeze();
+
+    /**
+     * 获取当前发布的快照版本号。
+     *
+     * <p>每次发布新快照（冻结、重载，以及写时复制的注册表在注册阶段的每次注册）时版本号递增，
+     * 可用于让调用方的派生缓存失效。</p>
+     *
+     * @return 快照版本号，尚未发布过快照时返回0
+     * @see RegistrySnapshot#getRevision()
+     */
+    long getSnapshotRevision();
+}
@@ -0,0 +1,202 @@
+package io.github.moyusowo.neoartisanapi.api.registry;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 不可变的注册表快照，为冻结后的读取优化。
+ *
+ * <p>快照由一个开放寻址（线性探测）的键索引和按注册顺序排列的稠密数组组成：
+ * 按键查找只需一次哈希和少量数组访问，按稠密下标查找只是一次数组访问。
+ * 快照构建完成后不再修改，所有字段都是 final 的，因此可以安全地在任意线程读取。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * RegistrySnapshot<ArtisanItem> snapshot = RegistrySnapshot.of(items, revision);
+ * ArtisanItem item = snapshot.get(key);
+ * int index = snapshot.indexOf(key);
+ * }</pre>
+ *
+ * @param <V> 注册内容类型
+ * @see FreezableRegistry
+ */
+@SuppressWarnings("unused")
+public final class RegistrySnapshot<V> {
+
+    /**
+     * 表示键不在快照中时返回的下标。
+     */
+    public static final int NOT_FOUND = -1;
+
+    private static final RegistrySnapshot<?> EMPTY = new RegistrySnapshot<>(new NamespacedKey[0], new Object[0], 0);
+
+    private final NamespacedKey[] keys;
+
+    private final Object[] values;
+
+    private final int[] table;
+
+    private final int mask;
+
+    private final long revision;
+
+    private RegistrySnapshot(NamespacedKey[] keys, Object[] values, long revision) {
+        this.keys = keys;
+        this.values = values;
+        this.revision = revision;
+        int capacity = 2;
+        while (capacity < keys.length * 2) {
+            capacity <<= 1;
+        }
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = mix(keys[i].hashCode()) & mask;
+            while (table[slot] != 0) {
+                if (keys[table[slot] - 1].equals(keys[i])) {
+                    throw new IllegalArgumentException("duplicate key: " + keys[i]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+    }
+
+    /**
+     * 获取空快照。
+     *
+     * @return 空快照（不会为null）
+     * @param <V> 注册内容类型
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> @NotNull RegistrySnapshot<V> empty() {
+        return (RegistrySnapshot<V>) EMPTY;
+    }
+
+    /**
+     * 从映射构建快照，稠密下标按映射的迭代顺序分配。
+     *
+     * @param entries 注册内容（不能为null，键和值都不能为null）
+     * @param revision 快照版本号
+     * @return 新的快照（不会为null）
+     * @param <V> 注册内容类型
+     * @throws IllegalArgumentException 如果存在null键或null值
+     */
+    public static <V> @NotNull RegistrySnapshot<V> of(@NotNull Map<NamespacedKey, ? extends V> entries, long revision) {
+        final NamespacedKey[] keys = new NamespacedKey[entries.size()];
+        final Object[] values = new Object[entries.size()];
+        int i = 0;
+        for (Map.Entry<NamespacedKey, ? extends V> entry : entries.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("snapshot entries must not be null");
+            }
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return new RegistrySnapshot<>(keys, values, revision);
+    }
+
+    /**
+     * 获取键对应的稠密下标。
+     *
+     * @param key 注册键（可为null）
+     * @return 稠密下标，不存在时返回 {@link #NOT_FOUND}
+     */
+    public int indexOf(@Nullable NamespacedKey key) {
+        if (key == null) {
+            return NOT_FOUND;
+        }
+        int slot = mix(key.hashCode()) & mask;
+        int entry;
+        while ((entry = table[slot]) != 0) {
+            if (keys[entry - 1].equals(key)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * 检查键是否在快照中。
+     *
+     * @param key 注册键（可为null）
+     * @return 如果存在返回true
+     */
+    public boolean contains(@Nullable NamespacedKey key) {
+        return indexOf(key) != NOT_FOUND;
+    }
+
+    /**
+     * 按键获取注册内容。
+     *
+     * @param key 注册键（可为null）
+     * @return 注册内容，不存在时返回null
+     */
+    public @Nullable V get(@Nullable NamespacedKey key) {
+        final int index = indexOf(key);
+        return index == NOT_FOUND ? null : get(index);
+    }
+
+    /**
+     * 按稠密下标获取注册内容。
+     *
+     * @param index 稠密下标
+     * @return 注册内容，下标越界时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(int index) {
+        return index >= 0 && index < values.length ? (V) values[index] : null;
+    }
+
+    /**
+     * 按稠密下标获取注册键。
+     *
+     * @param index 稠密下标
+     * @return 注册键，下标越界时返回null
+     */
+    public @Nullable NamespacedKey getKey(int index) {
+        return index >= 0 && index < keys.length ? keys[index] : null;
+    }
+
+    /**
+     * 获取注册内容数量，所有稠密下标都在 {@code [0, size())} 范围内。
+     *
+     * @return 注册内容数量
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 获取按稠密下标排列的注册键列表。
+     *
+     * @return 不可修改的键列表（不会为null）
+     */
+    public @NotNull List<NamespacedKey> keys() {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * 获取快照版本号。
+     *
+     * @return 快照版本号
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
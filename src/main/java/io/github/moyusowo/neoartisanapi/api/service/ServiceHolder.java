@@ -0,0 +1,111 @@
+package io.github.moyusowo.neoartisanapi.api.service;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 服务实例缓存句柄，避免每次获取注册表时都调用 {@link org.bukkit.plugin.ServicesManager#load(Class)}。
+ *
+ * <p>{@code ServicesManager#load} 每次都会在同步块中扫描服务提供者列表，
+ * 在事件监听器等热点路径上频繁调用会带来不必要的开销。本类在首次获取时解析服务并缓存，
+ * 之后的读取只是一次 volatile 字段读取。</p>
+ *
+ * <p>当 {@link org.bukkit.event.server.ServiceRegisterEvent} 或
+ * {@link org.bukkit.event.server.ServiceUnregisterEvent} 触发时，
+ * 对应服务类型的缓存会被清空，下一次获取时重新解析。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * private static final ServiceHolder<MyService> HOLDER = ServiceHolder.of(MyService.class);
+ *
+ * MyService service = HOLDER.get();
+ * }</pre>
+ *
+ * @param <T> 服务类型
+ * @see org.bukkit.plugin.ServicesManager
+ */
+@SuppressWarnings("unused")
+public final class ServiceHolder<T> {
+
+    private static final List<ServiceHolder<?>> HOLDERS = new CopyOnWriteArrayList<>();
+
+    private final Class<T> serviceClass;
+
+    private volatile T service;
+
+    private ServiceHolder(@NotNull Class<T> serviceClass) {
+        this.serviceClass = serviceClass;
+    }
+
+    /**
+     * 创建指定服务类型的缓存句柄。
+     *
+     * <p>句柄应保存在静态常量中复用，每次调用都会创建并登记一个新的句柄。</p>
+     *
+     * @param serviceClass 服务类型（不能为null）
+     * @return 新的缓存句柄（不会为null）
+     * @param <T> 服务类型
+     */
+    public static <T> @NotNull ServiceHolder<T> of(@NotNull Class<T> serviceClass) {
+        final ServiceHolder<T> holder = new ServiceHolder<>(serviceClass);
+        HOLDERS.add(holder);
+        return holder;
+    }
+
+    /**
+     * 使指定服务类型的所有缓存句柄失效。
+     *
+     * <p>通常无需手动调用，服务注册/注销事件会自动触发。</p>
+     *
+     * @param serviceClass 服务类型（不能为null）
+     */
+    public static void invalidate(@NotNull Class<?> serviceClass) {
+        for (ServiceHolder<?> holder : HOLDERS) {
+            if (holder.serviceClass == serviceClass) {
+                holder.invalidate();
+            }
+        }
+    }
+
+    /**
+     * 获取服务实例。
+     *
+     * @return 服务实例，如果当前没有注册提供者返回null
+     */
+    public @Nullable T get() {
+        final T cached = service;
+        if (cached != null) {
+            return cached;
+        }
+        return resolve();
+    }
+
+    /**
+     * 获取此句柄对应的服务类型。
+     *
+     * @return 服务类型（不会为null）
+     */
+    public @NotNull Class<T> getServiceClass() {
+        return serviceClass;
+    }
+
+    /**
+     * 清空此句柄的缓存，下一次 {@link #get()} 时重新解析。
+     */
+    public synchronized void invalidate() {
+        service = null;
+    }
+
+    private synchronized @Nullable T resolve() {
+        T resolved = service;
+        if (resolved == null) {
+            resolved = Bukkit.getServicesManager().load(serviceClass);
+            service = resolved;
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,245 @@
+package io.github.moyusowo.neoartisanapi.api.block.crop.storage;
+
+import io.github.moyusowo.neoartisanapi.api.block.crop.CropRegistry;
+import org.bukkit.NamespacedKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CropRegionStoreTest {
+
+    private static final int MIN_SECTION_Y = -4;
+
+    private static final int SECTION_COUNT = 24;
+
+    private static final int SECTOR_SIZE = 4096;
+
+    private static final int HEADER_SECTORS = 5;
+
+    private static final List<NamespacedKey> CROPS = List.of(
+            NamespacedKey.fromString("test:wheat"),
+            NamespacedKey.fromString("test:rice"),
+            NamespacedKey.fromString("test:pepper"));
+
+    private static final IntFunction<NamespacedKey> KEY_OF = id -> id >= 0 && id < CROPS.size() ? CROPS.get(id) : null;
+
+    private static final ToIntFunction<NamespacedKey> ID_OF = key -> {
+        final int id = CROPS.indexOf(key);
+        return id < 0 ? CropRegistry.NO_NUMERIC_ID : id;
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripAcrossReopen() throws IOException {
+        final CropChunk chunk = sampleChunk();
+        try (CropRegionStore store = newStore()) {
+            store.writeChunks(Map.of(CropChunk.key(3, -7), CropRegionStore.encode(chunk, KEY_OF)));
+        }
+        try (CropRegionStore store = newStore()) {
+            final CropChunk read = store.readChunk(3, -7, MIN_SECTION_Y, SECTION_COUNT, ID_OF);
+            assertNotNull(read);
+            assertSameCrops(chunk, read);
+            assertNull(store.readChunk(4, -7, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            assertNull(store.readChunk(100, 100, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    @Test
+    void emptyChunkDeletesEntry() throws IOException {
+        try (CropRegionStore store = newStore()) {
+            store.writeChunks(Map.of(CropChunk.key(0, 0), CropRegionStore.encode(sampleChunk(), KEY_OF)));
+            store.writeChunks(Map.of(CropChunk.key(0, 0), new byte[0]));
+            assertNull(store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    @Test
+    void decodeRemapsAndDropsUnknownCrops() throws IOException {
+        final byte[] encoded = CropRegionStore.encode(sampleChunk(), KEY_OF);
+        // 重启后注册顺序变化，并且pepper已被移除
+        final List<NamespacedKey> reordered = List.of(CROPS.get(1), CROPS.get(0));
+        final CropChunk read = CropRegionStore.decode(ByteBuffer.wrap(encoded), MIN_SECTION_Y, SECTION_COUNT, key -> {
+            final int id = reordered.indexOf(key);
+            return id < 0 ? CropRegistry.NO_NUMERIC_ID : id;
+        });
+        assertEquals(1, read.getCropId(1, 64, 2));
+        assertEquals(0, read.getCropId(15, -64, 15));
+        assertFalse(read.has(8, 300, 8));
+        assertEquals(2, read.size());
+    }
+
+    @Test
+    void decodeDropsCropsOutsideWorldHeight() throws IOException {
+        final byte[] encoded = CropRegionStore.encode(sampleChunk(), KEY_OF);
+        final CropChunk read = CropRegionStore.decode(ByteBuffer.wrap(encoded), 0, 16, ID_OF);
+        assertTrue(read.has(1, 64, 2));
+        assertFalse(read.has(15, -64, 15));
+    }
+
+    @Test
+    void encodeRejectsUnregisteredCrop() {
+        final CropChunk chunk = new CropChunk(MIN_SECTION_Y, SECTION_COUNT);
+        chunk.set(0, 0, 0, 42, 0);
+        assertThrows(IllegalArgumentException.class, () -> CropRegionStore.encode(chunk, KEY_OF));
+    }
+
+    @Test
+    void checksumMismatchIsReported() throws IOException {
+        try (CropRegionStore store = newStore()) {
+            store.writeChunks(Map.of(CropChunk.key(0, 0), CropRegionStore.encode(sampleChunk(), KEY_OF)));
+        }
+        final Path file = newStore().getRegionFile(0, 0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer one = ByteBuffer.allocate(1);
+            final long position = (long) HEADER_SECTORS * SECTOR_SIZE + 12;
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, position);
+        }
+        try (CropRegionStore store = newStore()) {
+            assertThrows(IOException.class, () -> store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            // 其他区块仍可正常写入和读取，损坏的区块被覆盖后恢复
+            store.writeChunks(Map.of(CropChunk.key(0, 0), CropRegionStore.encode(sampleChunk(), KEY_OF),
+                    CropChunk.key(1, 0), CropRegionStore.encode(sampleChunk(), KEY_OF)));
+            assertNotNull(store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            assertNotNull(store.readChunk(1, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    @Test
+    void unreadableRegionIsMovedAsideOnWrite() throws IOException {
+        final Path file;
+        try (CropRegionStore store = newStore()) {
+            store.writeChunks(Map.of(CropChunk.key(0, 0), CropRegionStore.encode(sampleChunk(), KEY_OF)));
+            file = store.getRegionFile(0, 0);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 0);
+        }
+        try (CropRegionStore store = newStore()) {
+            assertThrows(IOException.class, () -> store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            store.writeChunks(Map.of(CropChunk.key(2, 2), CropRegionStore.encode(sampleChunk(), KEY_OF)));
+            assertNotNull(store.readChunk(2, 2, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            assertNull(store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(path -> path.getFileName().toString().contains(".corrupt-")).count());
+        }
+    }
+
+    @Test
+    void rewritesReuseFreedSectors() throws IOException {
+        final byte[] encoded = CropRegionStore.encode(sampleChunk(), KEY_OF);
+        assertTrue(encoded.length <= SECTOR_SIZE);
+        try (CropRegionStore store = newStore()) {
+            for (int i = 0; i < 50; i++) {
+                store.writeChunks(Map.of(CropChunk.key(5, 5), encoded, CropChunk.key(6, 5), encoded));
+            }
+            // 每次写入只需要新旧两份数据的扇区，旧扇区在文件头更新后被复用
+            assertTrue(Files.size(store.getRegionFile(0, 0)) <= (long) (HEADER_SECTORS + 4) * SECTOR_SIZE);
+            assertNotNull(store.readChunk(5, 5, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            assertNotNull(store.readChunk(6, 5, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    @Test
+    void largeChunkSpansSectors() throws IOException {
+        final CropChunk chunk = new CropChunk(MIN_SECTION_Y, SECTION_COUNT);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    chunk.set(x, y, z, (x + y + z) % CROPS.size(), y & 7);
+                }
+            }
+        }
+        final byte[] encoded = CropRegionStore.encode(chunk, KEY_OF);
+        assertTrue(encoded.length > SECTOR_SIZE);
+        try (CropRegionStore store = new CropRegionStore(directory, Logger.getAnonymousLogger(), 1)) {
+            store.writeChunks(Map.of(CropChunk.key(-1, -1), encoded, CropChunk.key(32, 0), CropRegionStore.encode(sampleChunk(), KEY_OF)));
+            final CropChunk read = store.readChunk(-1, -1, MIN_SECTION_Y, SECTION_COUNT, ID_OF);
+            assertNotNull(read);
+            assertSameCrops(chunk, read);
+            assertNotNull(store.readChunk(32, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    @Test
+    void pendingWritesServeReadsAndOlderSnapshotsNeverWin() throws IOException {
+        final List<Runnable> queued = new ArrayList<>();
+        final CropChunk older = sampleChunk();
+        final CropChunk newer = sampleChunk();
+        newer.set(4, 4, 4, 1, 7);
+        try (CropRegionStore store = newStore()) {
+            final CompletableFuture<Void> first = store.writeChunksAsync(Map.of(CropChunk.key(0, 0), CropRegionStore.encode(older, KEY_OF)), queued::add);
+            final CropChunk pending = store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF);
+            assertNotNull(pending);
+            assertSameCrops(older, pending);
+            final CompletableFuture<Void> second = store.writeChunksAsync(Map.of(CropChunk.key(0, 0), CropRegionStore.encode(newer, KEY_OF)), queued::add);
+            assertSameCrops(newer, store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+            // 更新的快照先写完，旧快照之后执行也不会覆盖它
+            queued.get(1).run();
+            queued.get(0).run();
+            first.join();
+            second.join();
+        }
+        try (CropRegionStore store = newStore()) {
+            assertSameCrops(newer, store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    @Test
+    void rejectedAsyncWriteIsNotRegistered() throws IOException {
+        try (CropRegionStore store = newStore()) {
+            assertThrows(RejectedExecutionException.class, () -> store.writeChunksAsync(
+                    Map.of(CropChunk.key(0, 0), CropRegionStore.encode(sampleChunk(), KEY_OF)),
+                    task -> {
+                        throw new RejectedExecutionException();
+                    }));
+            assertNull(store.readChunk(0, 0, MIN_SECTION_Y, SECTION_COUNT, ID_OF));
+        }
+    }
+
+    private CropRegionStore newStore() {
+        return new CropRegionStore(directory, Logger.getAnonymousLogger(), 4);
+    }
+
+    private static CropChunk sampleChunk() {
+        final CropChunk chunk = new CropChunk(MIN_SECTION_Y, SECTION_COUNT);
+        chunk.set(1, 64, 2, 0, 3);
+        chunk.set(15, -64, 15, 1, 0);
+        chunk.set(8, 300, 8, 2, 255);
+        return chunk;
+    }
+
+    private static void assertSameCrops(CropChunk expected, CropChunk actual) {
+        assertEquals(expected.size(), actual.size());
+        expected.forEach(0, 0, (x, y, z, cropId, stage) -> {
+            assertEquals(cropId, actual.getCropId(x, y, z));
+            assertEquals(stage, actual.getStage(x, y, z));
+        });
+    }
+}
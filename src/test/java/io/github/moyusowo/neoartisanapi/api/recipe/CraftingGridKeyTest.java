@@ -0,0 +1,155 @@
+package io.github.moyusowo.neoartisanapi.api.recipe;
+
+import org.junit.jupiter.api.Test;
+
+import static io.github.moyusowo.neoartisanapi.api.recipe.CraftingGridKey.EMPTY_SLOT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CraftingGridKeyTest {
+
+    private static final int E = EMPTY_SLOT;
+
+    @Test
+    void shapedTrimsEmptyBorder() {
+        final CraftingGridKey key = CraftingGridKey.shaped(new int[]{
+                E, E, E,
+                E, 1, 2,
+                E, 3, E
+        }, 3);
+        assertEquals(2, key.width());
+        assertEquals(2, key.height());
+        assertEquals(4, key.size());
+        assertEquals(1, key.get(0));
+        assertEquals(2, key.get(1));
+        assertEquals(3, key.get(2));
+        assertEquals(EMPTY_SLOT, key.get(3));
+        assertFalse(key.isShapeless());
+    }
+
+    @Test
+    void shapedIgnoresPosition() {
+        final CraftingGridKey topLeft = CraftingGridKey.shaped(new int[]{
+                1, 2, E,
+                E, 3, E,
+                E, E, E
+        }, 3);
+        final CraftingGridKey bottomRight = CraftingGridKey.shaped(new int[]{
+                E, E, E,
+                E, 1, 2,
+                E, E, 3
+        }, 3);
+        assertEquals(topLeft, bottomRight);
+        assertEquals(topLeft.hashCode(), bottomRight.hashCode());
+    }
+
+    @Test
+    void shapedMatchesAcrossGridSizes() {
+        final CraftingGridKey inventory = CraftingGridKey.shaped(new int[]{
+                E, 5,
+                E, 5
+        }, 2);
+        final CraftingGridKey table = CraftingGridKey.shaped(new int[]{
+                E, E, E,
+                5, E, E,
+                5, E, E
+        }, 3);
+        assertEquals(inventory, table);
+    }
+
+    @Test
+    void shapedKeepsInnerEmptySlots() {
+        final CraftingGridKey gap = CraftingGridKey.shaped(new int[]{
+                1, E, 1,
+                E, E, E,
+                E, E, E
+        }, 3);
+        final CraftingGridKey packed = CraftingGridKey.shaped(new int[]{
+                1, 1, E,
+                E, E, E,
+                E, E, E
+        }, 3);
+        assertEquals(3, gap.width());
+        assertNotEquals(gap, packed);
+    }
+
+    @Test
+    void emptyGridHasNoSize() {
+        final CraftingGridKey key = CraftingGridKey.shaped(new int[]{E, E, E, E}, 2);
+        assertTrue(key.isEmpty());
+        assertEquals(0, key.width());
+        assertEquals(0, key.height());
+        assertFalse(CraftingGridKey.shaped(new int[9], 3).isEmpty(), "id 0 is an item, not an empty slot");
+    }
+
+    @Test
+    void shapedRejectsInvalidWidth() {
+        assertThrows(IllegalArgumentException.class, () -> CraftingGridKey.shaped(new int[9], 0));
+        assertThrows(IllegalArgumentException.class, () -> CraftingGridKey.shaped(new int[9], 2));
+    }
+
+    @Test
+    void mirroredFlipsColumns() {
+        final CraftingGridKey key = CraftingGridKey.shaped(new int[]{
+                1, 2, E,
+                1, E, E,
+                E, E, E
+        }, 3);
+        final CraftingGridKey mirrored = key.mirrored();
+        final CraftingGridKey expected = CraftingGridKey.shaped(new int[]{
+                2, 1, E,
+                E, 1, E,
+                E, E, E
+        }, 3);
+        assertEquals(expected, mirrored);
+        assertEquals(key, mirrored.mirrored());
+    }
+
+    @Test
+    void mirroredReturnsSelfWhenSymmetric() {
+        final CraftingGridKey symmetric = CraftingGridKey.shaped(new int[]{
+                1, 2, 1,
+                E, 3, E,
+                E, 3, E
+        }, 3);
+        assertSame(symmetric, symmetric.mirrored());
+        final CraftingGridKey column = CraftingGridKey.shaped(new int[]{1, E, 2, E}, 2);
+        assertSame(column, column.mirrored());
+        final CraftingGridKey shapeless = CraftingGridKey.shapeless(new int[]{1, 2});
+        assertSame(shapeless, shapeless.mirrored());
+    }
+
+    @Test
+    void shapelessSortsAndDropsEmptySlots() {
+        final CraftingGridKey key = CraftingGridKey.shapeless(new int[]{
+                7, E, 3,
+                E, 3, E,
+                -2, E, E
+        });
+        assertTrue(key.isShapeless());
+        assertEquals(4, key.size());
+        assertEquals(-2, key.get(0));
+        assertEquals(3, key.get(1));
+        assertEquals(3, key.get(2));
+        assertEquals(7, key.get(3));
+        assertEquals(key, CraftingGridKey.shapeless(new int[]{3, -2, 7, 3}));
+    }
+
+    @Test
+    void shapelessCountsDuplicates() {
+        assertNotEquals(CraftingGridKey.shapeless(new int[]{1, 1, 2}), CraftingGridKey.shapeless(new int[]{1, 2, 2}));
+        assertNotEquals(CraftingGridKey.shapeless(new int[]{1, 2}), CraftingGridKey.shapeless(new int[]{1, 2, 2}));
+    }
+
+    @Test
+    void shapedAndShapelessNeverCollide() {
+        final CraftingGridKey shaped = CraftingGridKey.shaped(new int[]{1, 2, E, E}, 2);
+        final CraftingGridKey shapeless = CraftingGridKey.shapeless(new int[]{1, 2});
+        assertNotEquals(shaped, shapeless);
+        assertTrue(CraftingGridKey.shapeless(new int[]{E, E}).isEmpty());
+    }
+}